@@ -0,0 +1,83 @@
+package com.dzieger.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.dzieger.SecurityConfig.JwtAuthenticationFilter;
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.config.Parameters;
+import com.dzieger.models.enums.Role;
+import com.dzieger.services.AuthService;
+import com.dzieger.services.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full per-request cost of {@link JwtAuthenticationFilter}: header extraction, one parse and signature check,
+ * the in-memory revocation check, building the security context and the per-phase timers, ending in a no-op
+ * filter chain.
+ * <p>
+ * Application loggers are raised to WARN so the numbers measure the filter rather than the log appenders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "thisisaverysecuresecretkeyforsigningjwt123";
+    private static final String ISSUER = "benchmarkIssuer";
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("com.dzieger").setLevel(Level.WARN);
+
+        Parameters params = new Parameters("", "", "", SECRET, "3600000", ISSUER);
+        JwtUtil jwtUtil = new JwtUtil(params, new SimpleMeterRegistry());
+        jwtUtil.init();
+
+        // Neither collaborator touches its store on this path: the user-exists check is off and the
+        // revocation list is answered from memory
+        AuthService authService = new AuthService(jwtUtil, null);
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(null, params, new SimpleMeterRegistry());
+
+        filter = new JwtAuthenticationFilter(jwtUtil, authService, tokenRevocationService, params, new SimpleMeterRegistry());
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(UUID.randomUUID(), "benchmark", List.of(Role.PLAYER.toString(), "benchmark"));
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/games");
+        request.addHeader("Authorization", authorizationHeader);
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public void anonymousRequest(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/games");
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+}
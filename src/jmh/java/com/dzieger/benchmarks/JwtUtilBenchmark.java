@@ -0,0 +1,69 @@
+package com.dzieger.benchmarks;
+
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.config.Parameters;
+import com.dzieger.models.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each public {@link JwtUtil} operation on its own, with an HS256 key ring.
+ * Every method except {@code generateToken} parses and verifies the token in full, so they differ mainly in
+ * what they do with the claims afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "thisisaverysecuresecretkeyforsigningjwt123";
+    private static final String ISSUER = "benchmarkIssuer";
+
+    private JwtUtil jwtUtil;
+    private UUID playerId;
+    private List<String> authorities;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new Parameters("", "", "", SECRET, "3600000", ISSUER), new SimpleMeterRegistry());
+        jwtUtil.init();
+
+        playerId = UUID.randomUUID();
+        authorities = List.of(Role.PLAYER.toString(), "benchmark");
+        token = jwtUtil.generateToken(playerId, "benchmark", authorities);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(playerId, "benchmark", authorities);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validate(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public List<?> extractAuthorities() {
+        return jwtUtil.extractAuthorities(token);
+    }
+
+    @Benchmark
+    public Object parseAndValidate() {
+        return jwtUtil.parseAndValidate(token);
+    }
+
+}
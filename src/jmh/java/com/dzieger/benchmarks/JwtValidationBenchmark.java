@@ -0,0 +1,87 @@
+package com.dzieger.benchmarks;
+
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.config.Parameters;
+import com.dzieger.models.Player;
+import com.dzieger.models.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of validating a bearer token in JwtAuthenticationFilter.
+ * <p>
+ * {@code legacyFilterPipeline} replays the sequence the filter used to run (extractUsername, validate with its
+ * two issuer re-parses, extractAuthorities): five parses and five HMAC checks per request.
+ * {@code singleParsePipeline} is the current path through {@link JwtUtil#parseAndValidate(String)}.
+ * Run with {@code -prof gc} to compare allocation as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "thisisaverysecuresecretkeyforsigningjwt123";
+    private static final String ISSUER = "benchmarkIssuer";
+
+    private JwtUtil jwtUtil;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Parameters params = new Parameters("", "", "", SECRET, "3600000", ISSUER);
+        jwtUtil = new JwtUtil(params, new SimpleMeterRegistry());
+        jwtUtil.init();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("benchmark");
+        player.setRole(Role.PLAYER);
+        token = jwtUtil.generateToken(player, List.of(Role.PLAYER.toString(), player.getUsername()));
+    }
+
+    @Benchmark
+    public void legacyFilterPipeline(Blackhole blackhole) {
+        // extractUsername
+        blackhole.consume(legacyClaims().get("username", String.class));
+
+        // validate: skew-tolerant parse followed by two issuer checks
+        blackhole.consume(Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(1)
+                .build()
+                .parseClaimsJws(token));
+        blackhole.consume(ISSUER.equals(legacyClaims().getIssuer()));
+        blackhole.consume(ISSUER.equals(legacyClaims().getIssuer()));
+
+        // extractAuthorities
+        blackhole.consume(legacyClaims().get("authorities", List.class));
+    }
+
+    @Benchmark
+    public void singleParsePipeline(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.parseAndValidate(token));
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+}
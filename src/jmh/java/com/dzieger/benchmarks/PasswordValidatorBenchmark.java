@@ -0,0 +1,50 @@
+package com.dzieger.benchmarks;
+
+import com.dzieger.validations.PasswordValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of the password strength check that runs on every registration.
+ * {@code precompiledPattern} is the current {@link PasswordValidator}; {@code stringMatches} is the previous
+ * implementation, which compiled the regex again on every call through {@link String#matches(String)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidatorBenchmark {
+
+    private static final String PASSWORD_PATTERN = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,20}$";
+
+    // Valid, missing a special character, and over the length limit
+    @Param({"Valid@123", "NoSpecial123", "Valid@123Valid@123Valid@123"})
+    public String password;
+
+    private PasswordValidator passwordValidator;
+
+    @Setup
+    public void setUp() {
+        passwordValidator = new PasswordValidator();
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return passwordValidator.isValid(password, null);
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return password.matches(PASSWORD_PATTERN);
+    }
+
+    @Benchmark
+    public Pattern patternCompileOnly() {
+        return Pattern.compile(PASSWORD_PATTERN);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.dzieger.benchmarks;
+
+import com.dzieger.services.PlayerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the name normalization applied to every registration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerServiceBenchmark {
+
+    @Param({"john", "JOHN", "bartholomew-alexander"})
+    public String firstName;
+
+    @Benchmark
+    public String toTitleCase() {
+        return PlayerService.toTitleCase(firstName);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.dzieger.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects every latency sample for one endpoint and reports exact percentiles at the end of the run.
+ * Samples are appended to a growable array under a lock; at the rates this harness drives that is far cheaper
+ * than the HTTP round trip being measured.
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+    private final AtomicLong unexpectedStatus = new AtomicLong();
+    private final AtomicLong transportErrors = new AtomicLong();
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long latencyNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+    }
+
+    void recordUnexpectedStatus() {
+        unexpectedStatus.incrementAndGet();
+    }
+
+    void recordTransportError() {
+        transportErrors.incrementAndGet();
+    }
+
+    synchronized Map<String, Object> summary(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long errors = unexpectedStatus.get() + transportErrors.get();
+        long requests = count + transportErrors.get();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", requests);
+        summary.put("throughputPerSecond", round(requests / measuredSeconds));
+        summary.put("p50Millis", millis(percentile(sorted, 0.50)));
+        summary.put("p99Millis", millis(percentile(sorted, 0.99)));
+        summary.put("p999Millis", millis(percentile(sorted, 0.999)));
+        summary.put("maxMillis", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        summary.put("unexpectedStatus", unexpectedStatus.get());
+        summary.put("transportErrors", transportErrors.get());
+        summary.put("errorRate", requests == 0 ? 0.0 : round((double) errors / requests));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+}
@@ -0,0 +1,290 @@
+package com.dzieger.loadtest;
+
+import com.dzieger.AuthServiceApplication;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for {@code /auth/register} and {@code /auth/login}.
+ * <p>
+ * Boots the service in-process on the {@code test} profile (H2) with the outbox relay pointed at a local
+ * {@link PlayerServiceStub}, then starts one replay of the registration corpus every {@code 1/rate} seconds whether
+ * or not earlier replays have finished, so a slow server shows up as latency instead of being hidden by a
+ * client that waits. Each replay runs its cases in order; registrations are namespaced per replay
+ * (see {@link RegistrationCase#inIteration(long)}), so the duplicate cases still hit the unique constraints.
+ * <p>
+ * A response counts as an error when its status differs from the corpus expectation. Replays that cannot start
+ * because {@code max-in-flight} replays are still running are reported as dropped.
+ * <p>
+ * With {@code clients=N} the test runs closed-model instead: N clients each start their next replay as soon as the
+ * previous one finishes, which measures the throughput the service sustains at that concurrency. Running it once
+ * with {@code spring.threads.virtual.enabled=false} and once with {@code true} (on Java 21+) compares the two
+ * threading modes.
+ * <p>
+ * Options are {@code name=value} arguments (a leading {@code --} is optional): {@code rate} (replays per second),
+ * {@code duration} and {@code warmup} (seconds), {@code clients}, {@code corpus}, {@code stub-delay-ms},
+ * {@code max-in-flight} and {@code report} (JSON output path). Any other {@code key=value} is passed to the application as a property, e.g.
+ * {@code password-hashing.threads=8}.
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper REPORT_WRITER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final List<RegistrationCase> corpus;
+    private final HttpClient client;
+    private final URI registerUri;
+    private final URI loginUri;
+    private final LatencyRecorder registerLatency = new LatencyRecorder("/auth/register");
+    private final LatencyRecorder loginLatency = new LatencyRecorder("/auth/login");
+    private final AtomicLong successfulRegistrations = new AtomicLong();
+    private final AtomicLong droppedReplays = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private volatile boolean measuring;
+
+    private LoadTestRunner(List<RegistrationCase> corpus, int port) {
+        this.corpus = corpus;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        this.registerUri = URI.create("http://localhost:" + port + "/auth/register");
+        this.loginUri = URI.create("http://localhost:" + port + "/auth/login");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "rate", "20",
+                "clients", "0",
+                "duration", "30",
+                "warmup", "5",
+                "corpus", "tests/postman/registerAPITestData.json",
+                "stub-delay-ms", "20",
+                "max-in-flight", "500",
+                "report", "target/loadtest-results.json"));
+        Map<String, Object> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            if (!option.contains("=")) {
+                throw new IllegalArgumentException("Expected name=value but got: " + arg);
+            }
+            String name = option.substring(0, option.indexOf('='));
+            String value = option.substring(option.indexOf('=') + 1);
+            if (options.containsKey(name)) {
+                options.put(name, value);
+            } else {
+                appProperties.put(name, value);
+            }
+        }
+
+        List<RegistrationCase> corpus = MAPPER.readValue(Path.of(options.get("corpus")).toFile(), new TypeReference<>() {
+        });
+
+        try (PlayerServiceStub stub = new PlayerServiceStub(Long.parseLong(options.get("stub-delay-ms")))) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("server.port", 0);
+            properties.put("player-service.url", "http://localhost:" + stub.getPort());
+            properties.put("outbox.relay.enabled", true);
+            properties.put("spring.jpa.show-sql", false);
+            properties.put("spring.h2.console.enabled", false);
+            // Every replay logs in from localhost, which the per-address login limit would otherwise throttle
+            properties.put("login-rate-limit.enabled", false);
+            properties.put("logging.level.root", "WARN");
+            properties.put("logging.level.com.dzieger", "WARN");
+            properties.put("logging.level.org.hibernate.SQL", "WARN");
+            properties.put("logging.level.org.springframework.jdbc.datasource", "WARN");
+            properties.putAll(appProperties);
+
+            // Passed as command-line arguments so they take precedence over application-test.properties
+            String[] appArgs = properties.entrySet().stream()
+                    .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                    .toArray(String[]::new);
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthServiceApplication.class)
+                    .profiles("test")
+                    .run(appArgs)) {
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                LoadTestRunner runner = new LoadTestRunner(corpus, port);
+                Map<String, Object> report = runner.run(
+                        Double.parseDouble(options.get("rate")),
+                        Integer.parseInt(options.get("clients")),
+                        Duration.ofSeconds(Long.parseLong(options.get("warmup"))),
+                        Duration.ofSeconds(Long.parseLong(options.get("duration"))),
+                        Integer.parseInt(options.get("max-in-flight")),
+                        stub);
+                report.put("javaVersion", JavaVersion.getJavaVersion().toString());
+                report.put("virtualThreads", Threading.VIRTUAL.isActive(context.getEnvironment()));
+                report.put("settings", options);
+
+                String json = REPORT_WRITER.writeValueAsString(report);
+                System.out.println(json);
+                Path reportPath = Path.of(options.get("report"));
+                if (reportPath.getParent() != null) {
+                    Files.createDirectories(reportPath.getParent());
+                }
+                Files.writeString(reportPath, json);
+                System.out.println("Report written to " + reportPath.toAbsolutePath());
+            }
+        }
+        System.exit(0);
+    }
+
+    private Map<String, Object> run(double rate, int clients, Duration warmup, Duration duration, int maxInFlight,
+                                    PlayerServiceStub stub) throws InterruptedException {
+        // Closed model: one permit per client, held until that client stops
+        int permits = clients > 0 ? clients : maxInFlight;
+        Semaphore inFlight = new Semaphore(permits);
+        AtomicLong iterations = new AtomicLong();
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+
+        if (clients > 0) {
+            for (int i = 0; i < clients; i++) {
+                inFlight.acquireUninterruptibly();
+                runClient(iterations, inFlight);
+            }
+        } else {
+            long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            ticker.scheduleAtFixedRate(() -> {
+                if (!inFlight.tryAcquire()) {
+                    if (measuring) {
+                        droppedReplays.incrementAndGet();
+                    }
+                    return;
+                }
+                replay(iterations.getAndIncrement()).whenComplete((ignored, error) -> inFlight.release());
+            }, 0, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        TimeUnit.NANOSECONDS.sleep(warmup.toNanos());
+        long profilesBefore = stub.getProfilesCreated();
+        long registrationsBefore = successfulRegistrations.get();
+        measuring = true;
+        long measureStart = System.nanoTime();
+        TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        measuring = false;
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        running.set(false);
+        ticker.shutdownNow();
+        if (!inFlight.tryAcquire(permits, 60, TimeUnit.SECONDS)) {
+            System.err.println("Replays still running after 60s; reporting what has completed");
+        }
+
+        // Give the outbox relay a chance to deliver what the measured window registered
+        long expectedProfiles = profilesBefore + (successfulRegistrations.get() - registrationsBefore);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (stub.getProfilesCreated() < expectedProfiles && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("model", clients > 0 ? "closed" : "open");
+        report.put("measuredSeconds", Math.round(measuredSeconds * 10) / 10.0);
+        report.put("replaysStarted", iterations.get());
+        report.put("replaysDropped", droppedReplays.get());
+        report.put("endpoints", List.of(registerLatency.summary(measuredSeconds), loginLatency.summary(measuredSeconds)));
+        report.put("profilesProvisioned", stub.getProfilesCreated());
+        report.put("successfulRegistrations", successfulRegistrations.get());
+        return report;
+    }
+
+    // Completions arrive on HttpClient threads, so chaining the next replay here does not grow the stack
+    private void runClient(AtomicLong iterations, Semaphore inFlight) {
+        if (!running.get()) {
+            inFlight.release();
+            return;
+        }
+        replay(iterations.getAndIncrement()).whenComplete((ignored, error) -> runClient(iterations, inFlight));
+    }
+
+    private CompletableFuture<?> replay(long iteration) {
+        CompletableFuture<?> chain = CompletableFuture.completedFuture(null);
+        for (RegistrationCase template : corpus) {
+            RegistrationCase registrationCase = template.inIteration(iteration);
+            chain = chain
+                    .thenCompose(ignored -> send(registerUri, registerBody(registrationCase), registrationCase.expectedStatusRegister(), registerLatency))
+                    .thenCompose(status -> {
+                        if (status == 201) {
+                            successfulRegistrations.incrementAndGet();
+                        }
+                        return send(loginUri, loginBody(registrationCase), registrationCase.expectedStatusLogin(), loginLatency);
+                    });
+        }
+        return chain;
+    }
+
+    private CompletableFuture<Integer> send(URI uri, String body, int expectedStatus, LatencyRecorder recorder) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        boolean measured = measuring;
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        if (measured) {
+                            recorder.recordTransportError();
+                        }
+                        return -1;
+                    }
+                    if (measured) {
+                        recorder.record(System.nanoTime() - start);
+                        if (response.statusCode() != expectedStatus) {
+                            recorder.recordUnexpectedStatus();
+                        }
+                    }
+                    return response.statusCode();
+                });
+    }
+
+    private static String registerBody(RegistrationCase registrationCase) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("username", registrationCase.username());
+        body.put("email", registrationCase.email());
+        body.put("password", registrationCase.password());
+        body.put("firstName", registrationCase.firstName());
+        return toJson(body);
+    }
+
+    private static String loginBody(RegistrationCase registrationCase) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("username", registrationCase.username());
+        body.put("password", registrationCase.password());
+        return toJson(body);
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
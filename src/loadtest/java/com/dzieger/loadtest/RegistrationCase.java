@@ -0,0 +1,30 @@
+package com.dzieger.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One entry of {@code tests/postman/registerAPITestData.json}: a registration followed by a login attempt with the
+ * same credentials, and the status each is expected to return.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record RegistrationCase(String testCase, String username, String email, String password, String firstName,
+                        int expectedStatusRegister, int expectedStatusLogin) {
+
+    /**
+     * The same case with its username and email moved into namespace {@code iteration}, so every replay of the
+     * corpus registers fresh players while duplicates inside one replay still collide. Blank values and emails
+     * without an {@code @} are left alone so the validation cases keep failing the same way.
+     */
+    RegistrationCase inIteration(long iteration) {
+        String suffix = Long.toString(iteration, Character.MAX_RADIX);
+        String namespacedUsername = isBlank(username) ? username : username + "-" + suffix;
+        String namespacedEmail = isBlank(email) || !email.contains("@") ? email : email.replace("@", "+" + suffix + "@");
+        return new RegistrationCase(testCase, namespacedUsername, namespacedEmail, password, firstName,
+                expectedStatusRegister, expectedStatusLogin);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.dzieger.SecurityConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost factor is either pinned per deployment tier or calibrated for the current hardware.
+ * <p>
+ * {@link #upgradeEncoding(String)} only reports hashes stored at a lower cost than the target. Nodes that end up with
+ * different costs therefore never rehash each other's passwords back and forth, and a hash is never downgraded.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    // Lowest cost calibration picks unless a lower minimum is configured explicitly
+    public static final int BASELINE_STRENGTH = 12;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Measures one hash at {@code minStrength} and picks the cost in {@code [minStrength, maxStrength]} whose
+     * extrapolated hash time (each cost step doubles the work) is closest to {@code targetMillis}.
+     */
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double baseMillis = best / 1_000_000.0;
+
+        int chosen = minStrength;
+        double chosenDistance = Double.MAX_VALUE;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            double estimate = baseMillis * Math.pow(2, cost - minStrength);
+            double distance = Math.abs(Math.log(estimate / targetMillis));
+            if (distance < chosenDistance) {
+                chosen = cost;
+                chosenDistance = distance;
+            }
+        }
+
+        log.info("BCrypt calibration: {} ms at cost {}, target {} ms, chose cost {}", String.format("%.1f", baseMillis), minStrength, targetMillis, chosen);
+        return chosen;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7) {
+            return false;
+        }
+        // Format: $2a$NN$<salt+hash>
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < strength;
+        } catch (NumberFormatException e) {
+            log.warn("Stored password does not look like BCrypt");
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.dzieger.SecurityConfig;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PEM parsing and JSON Web Key (RFC 7517) encoding for the asymmetric signing keys.
+ */
+public final class JsonWebKeys {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private JsonWebKeys() {
+    }
+
+    public static PrivateKey parsePrivateKey(String pem, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + keyAlgorithm + " private key (expected PKCS#8 PEM)", e);
+        }
+    }
+
+    public static PublicKey parsePublicKey(String pem, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + keyAlgorithm + " public key (expected X.509 PEM)", e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String body = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    /**
+     * The public JWK members of {@code key}, in the order RFC 7638 uses for thumbprints.
+     */
+    public static Map<String, String> toJwk(PublicKey key) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        if (key instanceof RSAPublicKey rsa) {
+            jwk.put("e", encode(rsa.getPublicExponent(), 0));
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(rsa.getModulus(), 0));
+        } else if (key instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            if (size != 32) {
+                throw new IllegalArgumentException("Only P-256 EC keys are supported");
+            }
+            jwk.put("crv", "P-256");
+            jwk.put("kty", "EC");
+            jwk.put("x", encode(ec.getW().getAffineX(), size));
+            jwk.put("y", encode(ec.getW().getAffineY(), size));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + key.getAlgorithm());
+        }
+        return jwk;
+    }
+
+    /**
+     * RFC 7638 JWK thumbprint (SHA-256, base64url), used as the key id.
+     */
+    public static String thumbprint(PublicKey key) {
+        StringBuilder json = new StringBuilder("{");
+        toJwk(key).forEach((name, value) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(name).append("\":\"").append(value).append('"');
+        });
+        json.append('}');
+        try {
+            return BASE64URL.encodeToString(MessageDigest.getInstance("SHA-256").digest(json.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Unsigned big-endian bytes, left-padded to length when length > 0
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64URL.encodeToString(bytes);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.dzieger.SecurityConfig;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A JWK Set serialized once per key ring, with a strong ETag over the exact bytes served.
+ */
+public final class JwksDocument {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final byte[] body;
+    private final String etag;
+
+    private JwksDocument(byte[] body, String etag) {
+        this.body = body;
+        this.etag = etag;
+    }
+
+    public static JwksDocument of(Map<String, PublicKey> keysById) {
+        List<Map<String, String>> keys = new ArrayList<>();
+        // Sorted so the same key set always produces the same bytes and ETag on every node
+        new TreeMap<>(keysById).forEach((kid, key) -> {
+            Map<String, String> jwk = new LinkedHashMap<>(JsonWebKeys.toJwk(key));
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", key.getAlgorithm().equals("EC") ? SignatureAlgorithm.ES256.getValue() : SignatureAlgorithm.RS256.getValue());
+            keys.add(jwk);
+        });
+
+        try {
+            byte[] body = JSON.writeValueAsBytes(Map.of("keys", keys));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new JwksDocument(body, "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"");
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to serialize JWKS", e);
+        }
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -1,6 +1,12 @@
 package com.dzieger.SecurityConfig;
 
+import com.dzieger.config.Parameters;
+import com.dzieger.exceptions.jwt.TokenRevokedException;
 import com.dzieger.services.AuthService;
+import com.dzieger.services.TokenRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,16 +15,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -27,33 +31,94 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final AuthService authService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Parameters params;
+
+    // One timer per phase, so a latency regression can be pinned to header parsing, signature checks,
+    // the revocation list or building the security context
+    private final Timer extractTimer;
+    private final Timer verifyTimer;
+    private final Timer revocationTimer;
+    private final Timer contextTimer;
+    private final Counter authenticatedCounter;
+    private final Counter anonymousCounter;
+    private final Counter rejectedCounter;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, AuthService authService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, AuthService authService, TokenRevocationService tokenRevocationService, Parameters params, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.authService = authService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.params = params;
+
+        this.extractTimer = phaseTimer("extract", meterRegistry);
+        this.verifyTimer = phaseTimer("verify", meterRegistry);
+        this.revocationTimer = phaseTimer("revocation", meterRegistry);
+        this.contextTimer = phaseTimer("context", meterRegistry);
+        this.authenticatedCounter = outcomeCounter("authenticated", meterRegistry);
+        this.anonymousCounter = outcomeCounter("anonymous", meterRegistry);
+        this.rejectedCounter = outcomeCounter("rejected", meterRegistry);
+    }
+
+    private static Timer phaseTimer(String phase, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.filter.phase")
+                .description("Time spent in each phase of bearer token authentication")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.filter.requests")
+                .description("Requests seen by the JWT filter, by authentication outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         log.info("Processing request: {}", request.getRequestURI());
 
+        long start = System.nanoTime();
         String token = extractToken(request);
+        long phaseStart = record(extractTimer, start);
 
         if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Timer phase = verifyTimer;
             try {
-                String username = authService.loadUserByUsername(jwtUtil.extractUsername(token)).getUsername();
-                setAuthenticationContext(username, token, request);
+                ValidatedToken validatedToken = jwtUtil.parseAndValidate(token);
+                phaseStart = record(phase, phaseStart);
+
+                phase = revocationTimer;
+                if (tokenRevocationService.isRevoked(validatedToken.getTokenId())) {
+                    throw new TokenRevokedException("JWT has been revoked: " + validatedToken.getTokenId());
+                }
+                phaseStart = record(phase, phaseStart);
 
-                log.debug("User authenticated: {}", username);
+                phase = contextTimer;
+                setAuthenticationContext(validatedToken, request);
+                record(phase, phaseStart);
+                authenticatedCounter.increment();
+
+                log.debug("User authenticated: {}", validatedToken.getUsername());
             } catch (Exception e) {
+                record(phase, phaseStart);
+                rejectedCounter.increment();
                 handleTokenException(e);
             }
+        } else {
+            anonymousCounter.increment();
         }
 
         filterChain.doFilter(request, response);
     }
 
+    // Records the time since phaseStart and returns now, the start of the next phase
+    private static long record(Timer timer, long phaseStart) {
+        long now = System.nanoTime();
+        timer.record(now - phaseStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
     private String extractToken(HttpServletRequest request) {
         log.debug("Extracting token from request");
         String header = request.getHeader("Authorization");
@@ -63,19 +128,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void setAuthenticationContext(String username, String token, HttpServletRequest request) {
+    private void setAuthenticationContext(ValidatedToken validatedToken, HttpServletRequest request) {
         log.debug("Setting authentication context");
 
-        UserDetails userDetails = authService.loadUserByUsername(username);
-
-        if (jwtUtil.validate(token)) {
-            List<SimpleGrantedAuthority> authorities = jwtUtil.extractAuthorities(token).stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                    .toList();
-            var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+        // The token is self-contained; only consult the player store when explicitly asked to
+        if (params.isJwtVerifyUserExists() && !authService.playerExists(validatedToken.getUsername())) {
+            throw new UsernameNotFoundException("User no longer exists: " + validatedToken.getUsername());
         }
+
+        JwtPrincipal principal = JwtPrincipal.from(validatedToken);
+        var authToken = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 
     private void handleTokenException(Exception e) {
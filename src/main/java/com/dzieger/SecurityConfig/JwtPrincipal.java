@@ -0,0 +1,73 @@
+package com.dzieger.SecurityConfig;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Authenticated principal built only from verified token claims, so authenticating a request
+ * never needs a database lookup.
+ */
+public final class JwtPrincipal implements Principal, Serializable {
+
+    private final UUID id;
+    private final String username;
+    private final List<SimpleGrantedAuthority> authorities;
+    private final String tokenId;
+    private final Date expiration;
+
+    public JwtPrincipal(UUID id, String username, List<SimpleGrantedAuthority> authorities, String tokenId, Date expiration) {
+        this.id = id;
+        this.username = username;
+        this.authorities = authorities;
+        this.tokenId = tokenId;
+        this.expiration = expiration;
+    }
+
+    public static JwtPrincipal from(ValidatedToken validatedToken) {
+        List<SimpleGrantedAuthority> authorities = validatedToken.getAuthorities().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        return new JwtPrincipal(validatedToken.getSubject(), validatedToken.getUsername(), authorities,
+                validatedToken.getTokenId(), validatedToken.getExpiration());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<SimpleGrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", authorities=" + authorities +
+                ", tokenId='" + tokenId + '\'' +
+                '}';
+    }
+}
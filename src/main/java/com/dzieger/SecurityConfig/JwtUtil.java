@@ -1,6 +1,7 @@
 package com.dzieger.SecurityConfig;
 
 import com.dzieger.config.Parameters;
+import com.dzieger.config.ParametersRefreshedEvent;
 import com.dzieger.exceptions.jwt.InvalidIssuerException;
 import com.dzieger.exceptions.jwt.JwtExpiredException;
 import com.dzieger.exceptions.jwt.JwtValidationException;
@@ -9,48 +10,243 @@ import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements ApplicationListener<ParametersRefreshedEvent> {
 
     private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
 
-    private long jwtExpiration;
-    private String jwtSecret;
-    private String jwtIssuer;
-    private Key KEY;
+    // Immutable snapshot of everything derived from the JWT parameters. Rotation builds a new ring and swaps
+    // the reference, so the request path reads it with a single volatile load and never takes a lock.
+    private volatile KeyRing keyRing;
 
     private final Parameters params;
 
-    public JwtUtil(Parameters params) {
+    private final Timer signTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
+
+    public JwtUtil(Parameters params, MeterRegistry meterRegistry) {
         this.params = params;
+        this.signTimer = Timer.builder("jwt.sign")
+                .description("Time spent building and signing access tokens")
+                .register(meterRegistry);
+        this.verifyValidTimer = Timer.builder("jwt.verify")
+                .description("Time spent parsing and verifying access tokens")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.verifyInvalidTimer = Timer.builder("jwt.verify")
+                .description("Time spent parsing and verifying access tokens")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
     }
 
     @PostConstruct
     public void init() {
         log.info("Initializing JwtUtil");
+        if (!signingAlgorithm().isHmac() && (isBlank(params.getJwtPrivateKey()) || isBlank(params.getJwtPublicKey()))) {
+            // In dev/prod the key pair arrives with the first Parameter Store refresh, during context startup
+            log.info("Waiting for the JWT key pair before building the key ring");
+            return;
+        }
+        this.keyRing = buildKeyRing(null);
+    }
+
+    // A plain ApplicationListener (rather than @EventListener) also receives refreshes published while the
+    // context is still creating singletons
+    @Override
+    public void onApplicationEvent(ParametersRefreshedEvent event) {
+        KeyRing rotated = buildKeyRing(this.keyRing);
+        this.keyRing = rotated;
+        log.info("JWT key ring refreshed: signing key {}, {} verification keys", rotated.signingKeyId(), rotated.verificationKeys().size());
+    }
+
+    private KeyRing currentKeyRing() {
+        KeyRing ring = keyRing;
+        if (ring == null) {
+            throw new IllegalStateException("JWT signing keys have not been loaded");
+        }
+        return ring;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private KeyRing buildKeyRing(KeyRing previous) {
+        long now = System.currentTimeMillis();
+        long jwtExpiration = accessTokenLifetimeMillis();
+        String jwtIssuer = params.getJwtIssuer();
+        SignatureAlgorithm algorithm = signingAlgorithm();
+
+        Key signingKey;
+        String signingKeyId;
+        Map<String, VerificationKey> verificationKeys = new HashMap<>();
+        if (algorithm.isHmac()) {
+            signingKey = Keys.hmacShaKeyFor(params.getJwtSecret().getBytes());
+            // Keep the strongest HMAC variant the secret allows, as signWith(Key) always did
+            algorithm = SignatureAlgorithm.forSigningKey(signingKey);
+            signingKeyId = keyId(params.getJwtSecret());
+            verificationKeys.put(signingKeyId, new VerificationKey(signingKey, Long.MAX_VALUE));
+            for (String previousSecret : params.getJwtPreviousSecrets()) {
+                verificationKeys.putIfAbsent(keyId(previousSecret), new VerificationKey(Keys.hmacShaKeyFor(previousSecret.getBytes()), Long.MAX_VALUE));
+            }
+        } else {
+            String keyAlgorithm = algorithm.getFamilyName().equals("ECDSA") ? "EC" : "RSA";
+            PublicKey publicKey = JsonWebKeys.parsePublicKey(params.getJwtPublicKey(), keyAlgorithm);
+            signingKey = JsonWebKeys.parsePrivateKey(params.getJwtPrivateKey(), keyAlgorithm);
+            signingKeyId = JsonWebKeys.thumbprint(publicKey);
+            verificationKeys.put(signingKeyId, new VerificationKey(publicKey, Long.MAX_VALUE));
+            for (String previousPem : params.getJwtPreviousPublicKeys()) {
+                PublicKey previousKey = JsonWebKeys.parsePublicKey(previousPem, keyAlgorithm);
+                verificationKeys.putIfAbsent(JsonWebKeys.thumbprint(previousKey), new VerificationKey(previousKey, Long.MAX_VALUE));
+            }
+        }
+        if (previous != null) {
+            // Keys dropped from the parameters keep verifying until every token they signed has expired
+            long retireAt = now + Math.max(jwtExpiration, previous.expirationMillis()) + TimeUnit.SECONDS.toMillis(params.getJwtClockSkewSeconds());
+            previous.verificationKeys().forEach((kid, key) -> {
+                if (!verificationKeys.containsKey(kid) && key.retireAtMillis() > now) {
+                    verificationKeys.put(kid, new VerificationKey(key.key(), Math.min(key.retireAtMillis(), retireAt)));
+                }
+            });
+        }
+
+        Map<String, VerificationKey> keys = Map.copyOf(verificationKeys);
+        SigningKeyResolver resolver = new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                String kid = header.getKeyId();
+                // Tokens issued before key ids were introduced carry none; they are tried against the signing key
+                // first and against the other keys only if that fails
+                VerificationKey key = keys.get(kid != null ? kid : signingKeyId);
+                if (key == null || key.retireAtMillis() <= System.currentTimeMillis()) {
+                    throw new SignatureException("Unknown JWT key id: " + kid);
+                }
+                return key.key();
+            }
+        };
 
-        this.jwtExpiration = Long.parseLong(params.getJwtExpiration());
-        this.jwtSecret = params.getJwtSecret();
-        this.jwtIssuer = params.getJwtIssuer();
-        this.KEY = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        List<SigningKeyResolver> keyIdLessResolvers = keys.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(signingKeyId))
+                .map(entry -> keyIdLessResolver(entry.getValue()))
+                .toList();
+
+        return new KeyRing(algorithm, signingKeyId, signingKey, keys, jwtExpiration, jwtIssuer,
+                claimsParser(resolver), validatingParser(resolver, jwtIssuer),
+                keyIdLessResolvers.stream().map(JwtUtil::claimsParser).toList(),
+                keyIdLessResolvers.stream().map(fallback -> validatingParser(fallback, jwtIssuer)).toList(),
+                JwksDocument.of(keys.entrySet().stream()
+                        .filter(entry -> entry.getValue().key() instanceof PublicKey)
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> (PublicKey) entry.getValue().key()))));
+    }
+
+    // jwt/expiration, capped by jwt.access-token.max-ttl-seconds: a long value in Parameter Store no longer
+    // stretches access tokens, which stay usable after a password change until they expire
+    private long accessTokenLifetimeMillis() {
+        long configured = Long.parseLong(params.getJwtExpiration());
+        long maxTtlSeconds = params.getJwtAccessTokenMaxTtlSeconds();
+        return maxTtlSeconds > 0 ? Math.min(configured, TimeUnit.SECONDS.toMillis(maxTtlSeconds)) : configured;
+    }
+
+    // Matches only tokens without a kid, and only while the key is still live, so a retired key keeps verifying old
+    // kid-less tokens for the same grace period as tokens that name it
+    private static SigningKeyResolver keyIdLessResolver(VerificationKey key) {
+        return new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                if (header.getKeyId() != null || key.retireAtMillis() <= System.currentTimeMillis()) {
+                    throw new SignatureException("JWT key does not apply");
+                }
+                return key.key();
+            }
+        };
+    }
+
+    private static JwtParser claimsParser(SigningKeyResolver resolver) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(resolver)
+                .build();
+    }
+
+    private JwtParser validatingParser(SigningKeyResolver resolver, String jwtIssuer) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(resolver)
+                .setAllowedClockSkewSeconds(params.getJwtClockSkewSeconds())
+                .requireIssuer(jwtIssuer)
+                .build();
+    }
+
+    // A kid-less token whose signature does not match the signing key is tried against each other live key in turn
+    private static Claims parseClaims(JwtParser parser, List<JwtParser> keyIdLessParsers, String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (SignatureException e) {
+            for (JwtParser keyIdLessParser : keyIdLessParsers) {
+                try {
+                    return keyIdLessParser.parseClaimsJws(token).getBody();
+                } catch (SignatureException ignored) {
+                    // Not this key either
+                }
+            }
+            throw e;
+        }
+    }
+
+    private SignatureAlgorithm signingAlgorithm() {
+        String configured = params.getJwtSigningAlgorithm();
+        if (configured == null || configured.isBlank()) {
+            return SignatureAlgorithm.HS256;
+        }
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(configured.trim());
+        if (algorithm != SignatureAlgorithm.HS256 && algorithm != SignatureAlgorithm.RS256 && algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("Unsupported jwt.signing-algorithm: " + configured + " (expected HS256, RS256 or ES256)");
+        }
+        return algorithm;
+    }
+
+    /**
+     * The public verification keys as a pre-serialized JWKS document. Empty when signing with an HMAC secret.
+     */
+    public JwksDocument getJwks() {
+        return currentKeyRing().jwks();
+    }
+
+    // Short, non-reversible identifier for a secret, carried in the token's kid header
+    static String keyId(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 6));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private Claims extractAllClaims(String token) {
-        return io.jsonwebtoken.Jwts.parserBuilder()
-                .setSigningKey(KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        KeyRing ring = currentKeyRing();
+        return parseClaims(ring.claimsParser(), ring.keyIdLessClaimsParsers(), token);
     }
 
     public UUID extractUserId(String token) {
@@ -62,18 +258,39 @@ public class JwtUtil {
     }
 
     public boolean validate(String token) {
+        parseAndValidate(token);
+        return true;
+    }
+
+    /**
+     * Parses the token once, verifying signature, expiry and issuer, and returns every claim the
+     * authentication pipeline needs. Callers on the request path should use this instead of
+     * chaining the individual extract methods, each of which re-parses the token.
+     */
+    public ValidatedToken parseAndValidate(String token) {
+        long start = System.nanoTime();
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(KEY)
-                    .setAllowedClockSkewSeconds(1) // Add 1 second of clock skew
-                    .build()
-                    .parseClaimsJws(token);
-            if (!jwtIssuer.equals(extractAllClaims(token).getIssuer())) {
-                throw new InvalidIssuerException("Invalid JWT issuer");
-            }
-            return jwtIssuer.equals(extractAllClaims(token).getIssuer());
+            ValidatedToken validatedToken = verify(token);
+            verifyValidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return validatedToken;
+        } catch (RuntimeException e) {
+            verifyInvalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private ValidatedToken verify(String token) {
+        Claims claims;
+        try {
+            KeyRing ring = currentKeyRing();
+            claims = parseClaims(ring.validatingParser(), ring.keyIdLessValidatingParsers(), token);
         } catch (ExpiredJwtException e) {
             throw new JwtExpiredException("JWT expired at: " + e.getClaims().getExpiration());
+        } catch (InvalidClaimException e) {
+            if (Claims.ISSUER.equals(e.getClaimName())) {
+                throw new InvalidIssuerException("Invalid JWT issuer");
+            }
+            throw new JwtValidationException("Invalid JWT claim" + e.getMessage());
         } catch (MalformedJwtException e) {
             throw new MalformedJwtException("Malformed JWT" + e.getMessage());
         } catch (SignatureException e) {
@@ -81,23 +298,72 @@ public class JwtUtil {
         } catch (JwtException e) {
             throw new JwtValidationException("Invalid JWT" + e.getMessage());
         }
+
+        return new ValidatedToken(
+                claims.getId(),
+                toSubject(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.getIssuer(),
+                toAuthorities(claims.get("authorities", List.class)),
+                claims.getExpiration());
     }
 
+    private UUID toSubject(String subject) {
+        try {
+            return UUID.fromString(subject);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new JwtValidationException("Invalid JWT subject", e);
+        }
+    }
+
+    private List<String> toAuthorities(List<?> authorities) {
+        if (authorities == null) {
+            return List.of();
+        }
+        return authorities.stream()
+                .map(String::valueOf)
+                .toList();
+    }
 
     public List<?> extractAuthorities(String token) {
         return extractAllClaims(token).get("authorities", List.class);
     }
 
     public String generateToken(Player player, List<String> authorities) {
+        return generateToken(player.getId(), player.getUsername(), authorities);
+    }
+
+    public String generateToken(UUID playerId, String username, List<String> authorities) {
+        long start = System.nanoTime();
+        try {
+            return sign(playerId, username, authorities);
+        } finally {
+            signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String sign(UUID playerId, String username, List<String> authorities) {
+        KeyRing ring = currentKeyRing();
         return Jwts.builder()
-                .setSubject(player.getId().toString())
-                .claim("username", player.getUsername())
+                .setHeaderParam(JwsHeader.KEY_ID, ring.signingKeyId())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(playerId.toString())
+                .claim("username", username)
                 .claim("authorities", authorities)
-                .setIssuer(jwtIssuer)
+                .setIssuer(ring.issuer())
                 .setIssuedAt(new java.util.Date(System.currentTimeMillis()))
-                .setExpiration(new java.util.Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(KEY)
+                .setExpiration(new java.util.Date(System.currentTimeMillis() + ring.expirationMillis()))
+                .signWith(ring.signingKey(), ring.algorithm())
                 .compact();
     }
+
+    private record VerificationKey(Key key, long retireAtMillis) {
+    }
+
+    private record KeyRing(SignatureAlgorithm algorithm, String signingKeyId, Key signingKey, Map<String, VerificationKey> verificationKeys,
+                           long expirationMillis, String issuer, JwtParser claimsParser, JwtParser validatingParser,
+                           List<JwtParser> keyIdLessClaimsParsers, List<JwtParser> keyIdLessValidatingParsers,
+                           JwksDocument jwks) {
+    }
 }
 
@@ -1,6 +1,7 @@
 package com.dzieger.SecurityConfig;
 
-import com.dzieger.repositories.PlayerRepository;
+import com.dzieger.models.enums.Role;
+import com.dzieger.services.PlayerDetailsCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,14 +26,14 @@ public class SecurityConfig {
 
     private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
 
-    private final PlayerRepository playerRepository;
+    private final PlayerDetailsCache playerDetailsCache;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
-    public SecurityConfig(PlayerRepository playerRepository, JwtAuthenticationFilter jwtAuthenticationFilter, AuthenticationManagerBuilder authenticationManagerBuilder, PasswordEncoder passwordEncoder) {
-        this.playerRepository = playerRepository;
+    public SecurityConfig(PlayerDetailsCache playerDetailsCache, JwtAuthenticationFilter jwtAuthenticationFilter, AuthenticationManagerBuilder authenticationManagerBuilder, PasswordEncoder passwordEncoder) {
+        this.playerDetailsCache = playerDetailsCache;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
         this.passwordEncoder = passwordEncoder;
@@ -42,7 +43,7 @@ public class SecurityConfig {
     public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
         log.info("Configuring global authentication manager");
         auth.userDetailsService(username -> {
-            return playerRepository.findByUsername(username)
+            return playerDetailsCache.get(username)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         }).passwordEncoder(passwordEncoder);
     }
@@ -58,9 +59,14 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
+                        // RFC 7662 §2.1: introspection callers must be authorized, not just any client
+                        .requestMatchers("/auth/introspect/**").hasAnyRole(Role.SERVICE.name(), Role.ADMIN.name())
                         .requestMatchers("/auth/**").permitAll()
+                        .requestMatchers("/.well-known/**").permitAll()
                         .requestMatchers("/health").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Metrics carry per-user and per-host tags: scrapers authenticate like any other service
+                        .requestMatchers("/actuator/**").hasAnyRole(Role.SERVICE.name(), Role.ADMIN.name())
                         .requestMatchers("/swagger/**").permitAll()
                         .requestMatchers("/swagger-ui/index.html").permitAll()
                         .requestMatchers("/swagger/index.html").permitAll()
@@ -1,17 +1,72 @@
 package com.dzieger.SecurityConfig;
 
+import com.dzieger.config.Parameters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class SharedConfig {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    private static final Logger log = LoggerFactory.getLogger(SharedConfig.class);
+
+    private static final long DEFAULT_TARGET_HASH_MILLIS = 250;
+
+    // The hashing executor is deliberately not a bean of its own: an Executor bean would make Spring Boot's
+    // auto-configured applicationTaskExecutor back off and route unrelated async work onto the BCrypt pool.
+    // The workers are platform threads even when spring.threads.virtual.enabled is on: request threads then park
+    // cheaply while they wait, and CPU-bound hashing stays capped at this pool instead of occupying every carrier.
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(Parameters params, MeterRegistry meterRegistry) {
+        int threads = params.getPasswordHashingThreads() > 0
+                ? params.getPasswordHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+        log.info("Initializing password hashing executor: {} threads, queue capacity {}", threads, params.getPasswordHashingQueueCapacity());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(params.getPasswordHashingQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        int strength = params.getBcryptStrength() > 0
+                ? params.getBcryptStrength()
+                : calibratedStrength(params);
+        Gauge.builder("password.hash.strength", () -> strength)
+                .description("BCrypt cost factor used for new hashes")
+                .register(meterRegistry);
+
+        return new BoundedPasswordEncoder(
+                new CalibratedBCryptPasswordEncoder(strength),
+                executor,
+                params.getPasswordHashingRetryAfterSeconds(),
+                meterRegistry);
     }
 
+    // Calibration depends on the node's hardware, so nodes of one tier may disagree; hashes then settle at the highest
+    // cost any of them picked. Pinning password-hashing.bcrypt.strength per tier avoids that
+    private static int calibratedStrength(Parameters params) {
+        int minStrength = params.getBcryptMinStrength() > 0
+                ? params.getBcryptMinStrength()
+                : CalibratedBCryptPasswordEncoder.BASELINE_STRENGTH;
+        int maxStrength = Math.max(params.getBcryptMaxStrength(), minStrength);
+        long targetMillis = params.getBcryptTargetHashMillis() > 0 ? params.getBcryptTargetHashMillis() : DEFAULT_TARGET_HASH_MILLIS;
+        log.warn("password-hashing.bcrypt.strength is not pinned, calibrating BCrypt cost between {} and {}", minStrength, maxStrength);
+        return CalibratedBCryptPasswordEncoder.calibrate(targetMillis, minStrength, maxStrength);
+    }
 
 }
@@ -0,0 +1,65 @@
+package com.dzieger.SecurityConfig;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a single parse and signature check of a JWT.
+ * Carries every claim the authentication pipeline needs so the token is never parsed twice.
+ */
+public final class ValidatedToken {
+
+    // jti claim; null for tokens issued before token ids were introduced
+    private final String tokenId;
+    private final UUID subject;
+    private final String username;
+    private final String issuer;
+    private final List<String> authorities;
+    private final Date expiration;
+
+    public ValidatedToken(String tokenId, UUID subject, String username, String issuer, List<String> authorities, Date expiration) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.username = username;
+        this.issuer = issuer;
+        this.authorities = authorities;
+        this.expiration = expiration;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public UUID getSubject() {
+        return subject;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidatedToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", subject=" + subject +
+                ", username='" + username + '\'' +
+                ", issuer='" + issuer + '\'' +
+                ", authorities=" + authorities +
+                ", expiration=" + expiration +
+                '}';
+    }
+}
@@ -1,5 +1,7 @@
 package com.dzieger.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -7,9 +9,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
-
-import javax.sql.DataSource;
 
 @Configuration
 @Profile({"dev", "prod"})
@@ -36,14 +35,31 @@ public class DatabaseConfig {
         this.databasePassword = params.getDatabasePassword();
     }
 
-    @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setUrl("jdbc:postgresql://" + databaseUrl);
-        dataSource.setUsername(databaseUsername);
-        dataSource.setPassword(databasePassword);
-        dataSource.setSchema("catan_auth_db");
-        return dataSource;
+    // Returned as HikariDataSource so Spring Boot's actuator binds the pool metrics (hikaricp.connections.*)
+    @Bean(destroyMethod = "close")
+    public HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("auth-db");
+        config.setJdbcUrl("jdbc:postgresql://" + databaseUrl);
+        config.setUsername(databaseUsername);
+        config.setPassword(databasePassword);
+        config.setSchema("catan_auth_db");
+
+        config.setMaximumPoolSize(params.getDatabasePoolMaximumSize());
+        config.setMinimumIdle(params.getDatabasePoolMinimumIdle());
+        config.setConnectionTimeout(params.getDatabasePoolConnectionTimeoutMs());
+        config.setIdleTimeout(params.getDatabasePoolIdleTimeoutMs());
+        config.setMaxLifetime(params.getDatabasePoolMaxLifetimeMs());
+        config.setLeakDetectionThreshold(params.getDatabasePoolLeakDetectionThresholdMs());
+
+        // PostgreSQL driver: switch to a server-side prepared statement after N executions and keep it per connection
+        config.addDataSourceProperty("prepareThreshold", params.getDatabasePrepareThreshold());
+        config.addDataSourceProperty("preparedStatementCacheQueries", params.getDatabasePreparedStatementCacheQueries());
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", params.getDatabasePreparedStatementCacheSizeMiB());
+
+        log.info("Initializing connection pool: max size {}, min idle {}, connection timeout {} ms",
+                config.getMaximumPoolSize(), config.getMinimumIdle(), config.getConnectionTimeout());
+        return new HikariDataSource(config);
     }
 
 }
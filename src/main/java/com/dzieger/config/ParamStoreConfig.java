@@ -2,15 +2,17 @@ package com.dzieger.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
-import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+
+import java.nio.file.Path;
+import java.util.Base64;
 
 @Profile({"dev", "prod"})
 @Configuration
@@ -18,88 +20,70 @@ public class ParamStoreConfig {
 
     private static final Logger log = LoggerFactory.getLogger(ParamStoreConfig.class);
 
-    private final Environment environment;
-
-    public ParamStoreConfig(Environment environment) {
-        this.environment = environment;
-    }
-
-    private String getActiveProfile() {
+    private static String getActiveProfile(Environment environment) {
         String[] activeProfiles = environment.getActiveProfiles();
         return activeProfiles.length > 0 ? activeProfiles[0] : "default";
     }
 
+    // Static so the loader is registered as a post processor and starts fetching before the other beans are created
     @Bean
-    public SsmClient ssmClient() {
-        log.info("Initializing SsmClient");
-        return SsmClient.builder()
-                .region(Region.US_EAST_2)
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+    public static ParameterStoreLoader parameterStoreLoader(Environment environment) {
+        String profile = getActiveProfile(environment);
+        long fetchTimeoutMs = environment.getProperty("parameter-store.fetch-timeout-ms", Long.class, 10000L);
+
+        ParameterSnapshotStore snapshotStore = null;
+        String snapshotKey = environment.getProperty("parameter-store.snapshot.key");
+        if (StringUtils.hasText(snapshotKey)) {
+            Path snapshotPath = Path.of(environment.getProperty("parameter-store.snapshot.path",
+                    System.getProperty("java.io.tmpdir") + "/catan-auth-parameters-" + profile + ".snapshot"));
+            snapshotStore = new ParameterSnapshotStore(snapshotPath, Base64.getDecoder().decode(snapshotKey), profile);
+        } else {
+            log.info("parameter-store.snapshot.key is not set, parameter snapshot disabled");
+        }
+
+        return new ParameterStoreLoader(() -> {
+            log.info("Initializing SsmClient");
+            return SsmClient.builder()
+                    .region(Region.US_EAST_2)
+                    .credentialsProvider(DefaultCredentialsProvider.create())
+                    .build();
+        }, profile, snapshotStore, fetchTimeoutMs);
     }
 
-    private String getParameterName(String parameterName) {
-        return String.format("/catan/%s/%s", getActiveProfile(), parameterName);
+    // Closed by the loader, which owns it
+    @Bean(destroyMethod = "")
+    public SsmClient ssmClient(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.getSsmClient();
     }
 
     @Bean
-    public String databaseUrl(SsmClient ssmClient) {
-        GetParameterRequest request = GetParameterRequest.builder()
-                .name(getParameterName("database/url"))
-                .withDecryption(true)
-                .build();
-
-        return ssmClient.getParameter(request).parameter().value();
+    public String databaseUrl(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.get("database/url");
     }
 
     @Bean
-    public String databaseUsername(SsmClient ssmClient) {
-        GetParameterRequest request = GetParameterRequest.builder()
-                .name(getParameterName("database/username"))
-                .withDecryption(true)
-                .build();
-
-        return ssmClient.getParameter(request).parameter().value();
+    public String databaseUsername(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.get("database/username");
     }
 
     @Bean
-    public String databasePassword(SsmClient ssmClient) {
-        GetParameterRequest request = GetParameterRequest.builder()
-                .name(getParameterName("database/password"))
-                .withDecryption(true)
-                .build();
-
-        return ssmClient.getParameter(request).parameter().value();
+    public String databasePassword(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.get("database/password");
     }
 
     @Bean
-    public String jwtSecret(SsmClient ssmClient) {
-        GetParameterRequest request = GetParameterRequest.builder()
-                .name(getParameterName("jwt/secret"))
-                .withDecryption(true)
-                .build();
-
-        return ssmClient.getParameter(request).parameter().value();
+    public String jwtSecret(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.get("jwt/secret");
     }
 
     @Bean
-    public String jwtExpiration(SsmClient ssmClient) {
-        GetParameterRequest request = GetParameterRequest.builder()
-                .name(getParameterName("jwt/expiration"))
-                .withDecryption(true)
-                .build();
-
-        return ssmClient.getParameter(request).parameter().value();
+    public String jwtExpiration(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.get("jwt/expiration");
     }
 
     @Bean
-    public String jwtIssuer(SsmClient ssmClient) {
-        GetParameterRequest request = GetParameterRequest.builder()
-                .name(getParameterName("jwt/issuer"))
-                .withDecryption(true)
-                .build();
-
-        return ssmClient.getParameter(request).parameter().value();
+    public String jwtIssuer(ParameterStoreLoader parameterStoreLoader) {
+        return parameterStoreLoader.get("jwt/issuer");
     }
 
 }
@@ -0,0 +1,91 @@
+package com.dzieger.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Periodically re-reads Parameter Store and pushes the runtime-changeable values into {@link Parameters}.
+ * <p>
+ * Only JWT settings are applied live. To rotate the signing secret, move the current value into
+ * {@code jwt/previous-secrets} (comma separated) and write the new one to {@code jwt/secret}; every node
+ * signs with the new key after its next refresh while still accepting tokens signed with the old one.
+ * Asymmetric keys rotate the same way through {@code jwt/private-key}, {@code jwt/public-key} and
+ * {@code jwt/previous-public-keys} (concatenated PEM).
+ * Database settings are read once at startup, so a change there is only logged.
+ */
+@Component
+@Profile({"dev", "prod"})
+public class ParameterRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(ParameterRefresher.class);
+
+    // Concatenated PEM public keys are split before each BEGIN line
+    private static final String PEM_SEPARATOR = "(?=-----BEGIN )";
+
+    private final ParameterStoreLoader parameterStoreLoader;
+    private final Parameters params;
+
+    public ParameterRefresher(ParameterStoreLoader parameterStoreLoader, Parameters params) {
+        this.parameterStoreLoader = parameterStoreLoader;
+        this.params = params;
+    }
+
+    // Applies values the constructor-injected beans do not cover, such as jwt/previous-secrets
+    @PostConstruct
+    public void init() {
+        apply(parameterStoreLoader.resolve());
+    }
+
+    @Scheduled(fixedDelayString = "${parameter-store.refresh-interval-ms:300000}", initialDelayString = "${parameter-store.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            apply(parameterStoreLoader.refresh());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh parameters, keeping current values", e);
+        }
+    }
+
+    void apply(Map<String, String> fetched) {
+        String jwtSecret = fetched.get("jwt/secret");
+        String jwtExpiration = fetched.get("jwt/expiration");
+        String jwtIssuer = fetched.get("jwt/issuer");
+        if (jwtSecret == null || jwtExpiration == null || jwtIssuer == null) {
+            log.warn("Refreshed parameters are missing JWT settings, keeping current values");
+            return;
+        }
+        params.refreshJwt(
+                jwtSecret,
+                splitList(fetched.get("jwt/previous-secrets"), ","),
+                fetched.getOrDefault("jwt/private-key", ""),
+                fetched.getOrDefault("jwt/public-key", ""),
+                splitList(fetched.get("jwt/previous-public-keys"), PEM_SEPARATOR),
+                jwtExpiration,
+                jwtIssuer);
+
+        if (!Objects.equals(fetched.get("database/url"), params.getDatabaseUrl())
+                || !Objects.equals(fetched.get("database/username"), params.getDatabaseUsername())
+                || !Objects.equals(fetched.get("database/password"), params.getDatabasePassword())) {
+            log.warn("Database parameters changed in Parameter Store; restart the service to apply them");
+        }
+    }
+
+    private static List<String> splitList(String values, String separator) {
+        if (values == null || values.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(values.split(separator))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.dzieger.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Local, AES-GCM encrypted copy of the last successful Parameter Store fetch.
+ * <p>
+ * File layout is the 12-byte IV followed by the ciphertext of the parameters in {@link Properties} format.
+ * The profile name is bound as associated data, so a dev snapshot can never be read as a prod one.
+ */
+public class ParameterSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ParameterSnapshotStore.class);
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final Path path;
+    private final SecretKeySpec key;
+    private final byte[] associatedData;
+    private final SecureRandom random = new SecureRandom();
+
+    public ParameterSnapshotStore(Path path, byte[] key, String profile) {
+        if (key.length != 16 && key.length != 32) {
+            throw new IllegalArgumentException("Snapshot key must be 128 or 256 bits");
+        }
+        this.path = path;
+        this.key = new SecretKeySpec(key, "AES");
+        this.associatedData = profile.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void write(Map<String, String> parameters) {
+        try {
+            Properties properties = new Properties();
+            properties.putAll(parameters);
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            properties.store(plain, null);
+
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            byte[] ciphertext = cipher.doFinal(plain.toByteArray());
+
+            // Write to a sibling and move into place so a crash never leaves a truncated snapshot
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            Files.write(temp, ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote parameter snapshot with {} entries to {}", parameters.size(), path);
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("Failed to write parameter snapshot to {}", path, e);
+        }
+    }
+
+    public Optional<Map<String, String>> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            byte[] contents = Files.readAllBytes(path);
+            if (contents.length <= IV_LENGTH) {
+                log.warn("Parameter snapshot {} is truncated", path);
+                return Optional.empty();
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, contents, 0, IV_LENGTH));
+            cipher.updateAAD(associatedData);
+            byte[] plain = cipher.doFinal(contents, IV_LENGTH, contents.length - IV_LENGTH);
+
+            Properties properties = new Properties();
+            properties.load(new ByteArrayInputStream(plain));
+            Map<String, String> parameters = new HashMap<>();
+            properties.stringPropertyNames().forEach(name -> parameters.put(name, properties.getProperty(name)));
+            return Optional.of(parameters);
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("Failed to read parameter snapshot from {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.dzieger.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads every parameter under {@code /catan/{profile}/} with paginated {@code GetParametersByPath} calls.
+ * <p>
+ * As a {@link BeanFactoryPostProcessor} the fetch starts before any singleton is created and runs on a background
+ * thread while the rest of the context initializes; {@link #get(String)} only blocks once a bean actually needs a
+ * value. Successful fetches are written to the encrypted snapshot, which is used instead when Parameter Store does
+ * not answer within the fetch timeout.
+ */
+public class ParameterStoreLoader implements BeanFactoryPostProcessor, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ParameterStoreLoader.class);
+
+    private final Supplier<SsmClient> ssmClientFactory;
+    private final String prefix;
+    private final ParameterSnapshotStore snapshotStore;
+    private final long fetchTimeoutMs;
+
+    // Not the loader's own monitor: resolve() holds that while it waits for the fetch, which needs the client
+    private final Object ssmClientLock = new Object();
+    private volatile SsmClient ssmClient;
+    private CompletableFuture<Map<String, String>> pending;
+    private Map<String, String> parameters;
+
+    public ParameterStoreLoader(Supplier<SsmClient> ssmClientFactory, String profile, ParameterSnapshotStore snapshotStore, long fetchTimeoutMs) {
+        this.ssmClientFactory = ssmClientFactory;
+        this.prefix = String.format("/catan/%s/", profile);
+        this.snapshotStore = snapshotStore;
+        this.fetchTimeoutMs = fetchTimeoutMs;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (pending != null) {
+            return;
+        }
+        log.info("Fetching parameters under {} in the background", prefix);
+        pending = CompletableFuture.supplyAsync(this::fetch, runnable -> {
+            Thread thread = new Thread(runnable, "parameter-store-bootstrap");
+            thread.setDaemon(true);
+            thread.start();
+        });
+        if (snapshotStore != null) {
+            pending.thenAccept(snapshotStore::write);
+        }
+    }
+
+    public SsmClient getSsmClient() {
+        SsmClient client = ssmClient;
+        if (client == null) {
+            synchronized (ssmClientLock) {
+                if (ssmClient == null) {
+                    ssmClient = ssmClientFactory.get();
+                }
+                client = ssmClient;
+            }
+        }
+        return client;
+    }
+
+    public String get(String name) {
+        String value = resolve().get(name);
+        if (value == null) {
+            throw new IllegalStateException("Missing parameter: " + prefix + name);
+        }
+        return value;
+    }
+
+    public synchronized Map<String, String> resolve() {
+        if (parameters != null) {
+            return parameters;
+        }
+        start();
+        try {
+            parameters = pending.get(fetchTimeoutMs, TimeUnit.MILLISECONDS);
+            return parameters;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading parameters", e);
+        } catch (ExecutionException | TimeoutException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            if (snapshotStore == null) {
+                throw new IllegalStateException("Failed to load parameters from Parameter Store", cause);
+            }
+            log.warn("Parameter Store unavailable ({}), falling back to snapshot {}", cause.toString(), snapshotStore.getPath());
+            parameters = snapshotStore.read()
+                    .orElseThrow(() -> new IllegalStateException("Failed to load parameters from Parameter Store and no usable snapshot exists", cause));
+            return parameters;
+        }
+    }
+
+    /**
+     * Fetches the current values, replacing both the cached parameters and the snapshot.
+     */
+    public Map<String, String> refresh() {
+        Map<String, String> fetched = fetch();
+        synchronized (this) {
+            parameters = fetched;
+        }
+        if (snapshotStore != null) {
+            snapshotStore.write(fetched);
+        }
+        return fetched;
+    }
+
+    public Map<String, String> fetch() {
+        long start = System.nanoTime();
+        Map<String, String> fetched = new HashMap<>();
+        String nextToken = null;
+        do {
+            GetParametersByPathResponse response = getSsmClient().getParametersByPath(GetParametersByPathRequest.builder()
+                    .path(prefix)
+                    .recursive(true)
+                    .withDecryption(true)
+                    .nextToken(nextToken)
+                    .build());
+            response.parameters().forEach(parameter -> fetched.put(parameter.name().substring(prefix.length()), parameter.value()));
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+
+        log.info("Fetched {} parameters under {} in {} ms", fetched.size(), prefix, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return fetched;
+    }
+
+    @Override
+    public void destroy() {
+        if (ssmClient != null) {
+            ssmClient.close();
+        }
+    }
+
+}
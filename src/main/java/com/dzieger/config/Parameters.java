@@ -4,10 +4,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+
 @Component
-public class Parameters {
+public class Parameters implements ApplicationEventPublisherAware {
 
     private static Logger log = LoggerFactory.getLogger(Parameters.class);
 
@@ -15,9 +21,229 @@ public class Parameters {
     private String databaseUsername;
     private String databasePassword;
 
-    private String jwtSecret;
-    private String jwtExpiration;
-    private String jwtIssuer;
+    // JWT settings can be replaced at runtime by refreshJwt, so readers must see the latest write
+    private volatile String jwtSecret;
+    private volatile List<String> jwtPreviousSecrets = List.of();
+    private volatile String jwtPrivateKey = "";
+    private volatile String jwtPublicKey = "";
+    private volatile List<String> jwtPreviousPublicKeys = List.of();
+    private volatile String jwtExpiration;
+    private volatile String jwtIssuer;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${database.pool.maximum-size:10}")
+    private int databasePoolMaximumSize;
+
+    @Value("${database.pool.minimum-idle:10}")
+    private int databasePoolMinimumIdle;
+
+    @Value("${database.pool.connection-timeout-ms:3000}")
+    private long databasePoolConnectionTimeoutMs;
+
+    @Value("${database.pool.idle-timeout-ms:600000}")
+    private long databasePoolIdleTimeoutMs;
+
+    @Value("${database.pool.max-lifetime-ms:1800000}")
+    private long databasePoolMaxLifetimeMs;
+
+    @Value("${database.pool.leak-detection-threshold-ms:20000}")
+    private long databasePoolLeakDetectionThresholdMs;
+
+    @Value("${database.prepared-statements.prepare-threshold:5}")
+    private int databasePrepareThreshold;
+
+    @Value("${database.prepared-statements.cache-queries:256}")
+    private int databasePreparedStatementCacheQueries;
+
+    @Value("${database.prepared-statements.cache-size-mib:5}")
+    private int databasePreparedStatementCacheSizeMiB;
+
+    @Value("${jwt.signing-algorithm:HS256}")
+    private String jwtSigningAlgorithm;
+
+    @Value("${jwt.jwks.max-age-seconds:300}")
+    private long jwtJwksMaxAgeSeconds;
+
+    @Value("${refresh-token.ttl-seconds:1209600}")
+    private long refreshTokenTtlSeconds;
+
+    @Value("${token-revocation.bloom.expected-entries:100000}")
+    private int tokenRevocationBloomExpectedEntries;
+
+    @Value("${token-revocation.bloom.false-positive-rate:0.001}")
+    private double tokenRevocationBloomFalsePositiveRate;
+
+    @Value("${token-revocation.poll-overlap-ms:30000}")
+    private long tokenRevocationPollOverlapMs;
+
+    @Value("${introspection.cache.maximum-size:10000}")
+    private long introspectionCacheMaximumSize;
+
+    @Value("${introspection.cache.ttl-seconds:30}")
+    private long introspectionCacheTtlSeconds;
+
+    @Value("${introspection.cache.negative-ttl-ms:2000}")
+    private long introspectionCacheNegativeTtlMs;
+
+    @Value("${player-import.batch-size:500}")
+    private int playerImportBatchSize;
+
+    @Value("${player-import.hashing-concurrency:0}")
+    private int playerImportHashingConcurrency;
+
+    @Value("${player-export.page-size:1000}")
+    private int playerExportPageSize;
+
+    @Value("${player-export.as-of-overlap-ms:30000}")
+    private long playerExportAsOfOverlapMs;
+
+    @Value("${username-filter.enabled:true}")
+    private boolean usernameFilterEnabled;
+
+    @Value("${username-filter.expected-entries:1000000}")
+    private int usernameFilterExpectedEntries;
+
+    @Value("${username-filter.false-positive-rate:0.01}")
+    private double usernameFilterFalsePositiveRate;
+
+    @Value("${username-filter.poll-overlap-ms:30000}")
+    private long usernameFilterPollOverlapMs;
+
+    @Value("${login-rate-limit.enabled:true}")
+    private boolean loginRateLimitEnabled;
+
+    @Value("${login-rate-limit.window-seconds:60}")
+    private long loginRateLimitWindowSeconds;
+
+    @Value("${login-rate-limit.address.max-attempts:100}")
+    private int loginRateLimitAddressMaxAttempts;
+
+    @Value("${login-rate-limit.username.max-attempts:10}")
+    private int loginRateLimitUsernameMaxAttempts;
+
+    @Value("${login-rate-limit.max-keys:100000}")
+    private long loginRateLimitMaxKeys;
+
+    @Value("${jwt.clock-skew-seconds:1}")
+    private long jwtClockSkewSeconds;
+
+    @Value("${jwt.access-token.max-ttl-seconds:900}")
+    private long jwtAccessTokenMaxTtlSeconds;
+
+    @Value("${jwt.verify-user-exists:false}")
+    private boolean jwtVerifyUserExists;
+
+    @Value("${password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${password-hashing.retry-after-seconds:1}")
+    private long passwordHashingRetryAfterSeconds;
+
+    @Value("${password-hashing.bcrypt.strength:12}")
+    private int bcryptStrength;
+
+    @Value("${password-hashing.bcrypt.target-hash-millis:250}")
+    private long bcryptTargetHashMillis;
+
+    @Value("${password-hashing.bcrypt.min-strength:12}")
+    private int bcryptMinStrength;
+
+    @Value("${password-hashing.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${player-cache.maximum-size:10000}")
+    private long playerCacheMaximumSize;
+
+    @Value("${player-cache.ttl-seconds:300}")
+    private long playerCacheTtlSeconds;
+
+    @Value("${player-cache.poll-overlap-ms:30000}")
+    private long playerCachePollOverlapMs;
+
+    @Value("${player-service.url:http://localhost:8081}")
+    private String playerServiceUrl;
+
+    @Value("${http-client.max-connections:200}")
+    private int httpClientMaxConnections;
+
+    @Value("${http-client.max-connections-per-route:50}")
+    private int httpClientMaxConnectionsPerRoute;
+
+    @Value("${http-client.connect-timeout-ms:2000}")
+    private long httpClientConnectTimeoutMs;
+
+    @Value("${http-client.read-timeout-ms:5000}")
+    private long httpClientReadTimeoutMs;
+
+    @Value("${http-client.pool-acquire-timeout-ms:1000}")
+    private long httpClientPoolAcquireTimeoutMs;
+
+    @Value("${http-client.idle-eviction-seconds:30}")
+    private long httpClientIdleEvictionSeconds;
+
+    @Value("${http-client.connection-ttl-seconds:300}")
+    private long httpClientConnectionTtlSeconds;
+
+    @Value("${outbox.kafka.topic:player.registered}")
+    private String outboxKafkaTopic;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int outboxRelayBatchSize;
+
+    @Value("${outbox.relay.publish-timeout-ms:5000}")
+    private long outboxRelayPublishTimeoutMs;
+
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long outboxRelayLeaseMs;
+
+    @Value("${outbox.relay.concurrency:8}")
+    private int outboxRelayConcurrency;
+
+    @Value("${outbox.relay.initial-backoff-ms:1000}")
+    private long outboxRelayInitialBackoffMs;
+
+    @Value("${outbox.relay.max-backoff-ms:300000}")
+    private long outboxRelayMaxBackoffMs;
+
+    @Value("${account-events.enabled:false}")
+    private boolean accountEventsEnabled;
+
+    @Value("${account-events.topic:account.events}")
+    private String accountEventsTopic;
+
+    @Value("${account-events.buffer-capacity:10000}")
+    private int accountEventsBufferCapacity;
+
+    @Value("${account-events.overflow:spill}")
+    private String accountEventsOverflow;
+
+    @Value("${account-events.spill.directory:${user.home}/.catan-auth/account-events}")
+    private String accountEventsSpillDirectory;
+
+    @Value("${account-events.spill.max-bytes:104857600}")
+    private long accountEventsSpillMaxBytes;
+
+    @Value("${account-events.spill.replay-interval-ms:5000}")
+    private long accountEventsSpillReplayIntervalMs;
+
+    @Value("${account-events.spill.replay-timeout-ms:10000}")
+    private long accountEventsSpillReplayTimeoutMs;
+
+    @Value("${account-events.producer.linger-ms:20}")
+    private int accountEventsProducerLingerMs;
+
+    @Value("${account-events.producer.batch-size:65536}")
+    private int accountEventsProducerBatchSize;
+
+    @Value("${account-events.producer.compression-type:lz4}")
+    private String accountEventsProducerCompressionType;
+
+    @Value("${account-events.producer.max-block-ms:5000}")
+    private long accountEventsProducerMaxBlockMs;
 
     @Autowired
     public Parameters(
@@ -36,6 +262,43 @@ public class Parameters {
         this.jwtIssuer = jwtIssuer;
     }
 
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Replaces the JWT settings and publishes a {@link ParametersRefreshedEvent} when any of them changed.
+     * Previous secrets and public keys stay valid for verification so tokens signed before a rotation keep working.
+     * The PEM key pair is only used when {@code jwt.signing-algorithm} is asymmetric.
+     */
+    public synchronized boolean refreshJwt(String jwtSecret, List<String> jwtPreviousSecrets,
+                                           String jwtPrivateKey, String jwtPublicKey, List<String> jwtPreviousPublicKeys,
+                                           String jwtExpiration, String jwtIssuer) {
+        if (Objects.equals(this.jwtSecret, jwtSecret)
+                && Objects.equals(this.jwtPreviousSecrets, jwtPreviousSecrets)
+                && Objects.equals(this.jwtPrivateKey, jwtPrivateKey)
+                && Objects.equals(this.jwtPublicKey, jwtPublicKey)
+                && Objects.equals(this.jwtPreviousPublicKeys, jwtPreviousPublicKeys)
+                && Objects.equals(this.jwtExpiration, jwtExpiration)
+                && Objects.equals(this.jwtIssuer, jwtIssuer)) {
+            return false;
+        }
+
+        log.info("JWT parameters changed, refreshing");
+        this.jwtSecret = jwtSecret;
+        this.jwtPreviousSecrets = List.copyOf(jwtPreviousSecrets);
+        this.jwtPrivateKey = jwtPrivateKey;
+        this.jwtPublicKey = jwtPublicKey;
+        this.jwtPreviousPublicKeys = List.copyOf(jwtPreviousPublicKeys);
+        this.jwtExpiration = jwtExpiration;
+        this.jwtIssuer = jwtIssuer;
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new ParametersRefreshedEvent(this));
+        }
+        return true;
+    }
+
     public String getDatabaseUrl() {
         return databaseUrl;
     }
@@ -48,10 +311,70 @@ public class Parameters {
         return databasePassword;
     }
 
+    public int getDatabasePoolMaximumSize() {
+        return databasePoolMaximumSize;
+    }
+
+    public int getDatabasePoolMinimumIdle() {
+        return databasePoolMinimumIdle;
+    }
+
+    public long getDatabasePoolConnectionTimeoutMs() {
+        return databasePoolConnectionTimeoutMs;
+    }
+
+    public long getDatabasePoolIdleTimeoutMs() {
+        return databasePoolIdleTimeoutMs;
+    }
+
+    public long getDatabasePoolMaxLifetimeMs() {
+        return databasePoolMaxLifetimeMs;
+    }
+
+    public long getDatabasePoolLeakDetectionThresholdMs() {
+        return databasePoolLeakDetectionThresholdMs;
+    }
+
+    public int getDatabasePrepareThreshold() {
+        return databasePrepareThreshold;
+    }
+
+    public int getDatabasePreparedStatementCacheQueries() {
+        return databasePreparedStatementCacheQueries;
+    }
+
+    public int getDatabasePreparedStatementCacheSizeMiB() {
+        return databasePreparedStatementCacheSizeMiB;
+    }
+
     public String getJwtSecret() {
         return jwtSecret;
     }
 
+    public List<String> getJwtPreviousSecrets() {
+        return jwtPreviousSecrets;
+    }
+
+    public String getJwtPrivateKey() {
+        return jwtPrivateKey;
+    }
+
+    public String getJwtPublicKey() {
+        return jwtPublicKey;
+    }
+
+    public List<String> getJwtPreviousPublicKeys() {
+        return jwtPreviousPublicKeys;
+    }
+
+    public String getJwtSigningAlgorithm() {
+        return jwtSigningAlgorithm;
+    }
+
+    public long getJwtJwksMaxAgeSeconds() {
+        return jwtJwksMaxAgeSeconds;
+    }
+
     public String getJwtExpiration() {
         return jwtExpiration;
     }
@@ -59,4 +382,244 @@ public class Parameters {
     public String getJwtIssuer() {
         return jwtIssuer;
     }
+
+    public long getRefreshTokenTtlSeconds() {
+        return refreshTokenTtlSeconds;
+    }
+
+    public int getTokenRevocationBloomExpectedEntries() {
+        return tokenRevocationBloomExpectedEntries;
+    }
+
+    public double getTokenRevocationBloomFalsePositiveRate() {
+        return tokenRevocationBloomFalsePositiveRate;
+    }
+
+    public long getTokenRevocationPollOverlapMs() {
+        return tokenRevocationPollOverlapMs;
+    }
+
+    public long getIntrospectionCacheMaximumSize() {
+        return introspectionCacheMaximumSize;
+    }
+
+    public long getIntrospectionCacheTtlSeconds() {
+        return introspectionCacheTtlSeconds;
+    }
+
+    public long getIntrospectionCacheNegativeTtlMs() {
+        return introspectionCacheNegativeTtlMs;
+    }
+
+    public int getPlayerImportBatchSize() {
+        return playerImportBatchSize;
+    }
+
+    public int getPlayerImportHashingConcurrency() {
+        return playerImportHashingConcurrency;
+    }
+
+    public int getPlayerExportPageSize() {
+        return playerExportPageSize;
+    }
+
+    public long getPlayerExportAsOfOverlapMs() {
+        return playerExportAsOfOverlapMs;
+    }
+
+    public boolean isUsernameFilterEnabled() {
+        return usernameFilterEnabled;
+    }
+
+    public int getUsernameFilterExpectedEntries() {
+        return usernameFilterExpectedEntries;
+    }
+
+    public double getUsernameFilterFalsePositiveRate() {
+        return usernameFilterFalsePositiveRate;
+    }
+
+    public long getUsernameFilterPollOverlapMs() {
+        return usernameFilterPollOverlapMs;
+    }
+
+    public boolean isLoginRateLimitEnabled() {
+        return loginRateLimitEnabled;
+    }
+
+    public long getLoginRateLimitWindowSeconds() {
+        return loginRateLimitWindowSeconds;
+    }
+
+    public int getLoginRateLimitAddressMaxAttempts() {
+        return loginRateLimitAddressMaxAttempts;
+    }
+
+    public int getLoginRateLimitUsernameMaxAttempts() {
+        return loginRateLimitUsernameMaxAttempts;
+    }
+
+    public long getLoginRateLimitMaxKeys() {
+        return loginRateLimitMaxKeys;
+    }
+
+    public long getJwtClockSkewSeconds() {
+        return jwtClockSkewSeconds;
+    }
+
+    public long getJwtAccessTokenMaxTtlSeconds() {
+        return jwtAccessTokenMaxTtlSeconds;
+    }
+
+    public boolean isJwtVerifyUserExists() {
+        return jwtVerifyUserExists;
+    }
+
+    public long getPlayerCacheMaximumSize() {
+        return playerCacheMaximumSize;
+    }
+
+    public long getPlayerCacheTtlSeconds() {
+        return playerCacheTtlSeconds;
+    }
+
+    public long getPlayerCachePollOverlapMs() {
+        return playerCachePollOverlapMs;
+    }
+
+    public int getPasswordHashingThreads() {
+        return passwordHashingThreads;
+    }
+
+    public int getPasswordHashingQueueCapacity() {
+        return passwordHashingQueueCapacity;
+    }
+
+    public long getPasswordHashingRetryAfterSeconds() {
+        return passwordHashingRetryAfterSeconds;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public long getBcryptTargetHashMillis() {
+        return bcryptTargetHashMillis;
+    }
+
+    public int getBcryptMinStrength() {
+        return bcryptMinStrength;
+    }
+
+    public int getBcryptMaxStrength() {
+        return bcryptMaxStrength;
+    }
+
+    public String getPlayerServiceUrl() {
+        return playerServiceUrl;
+    }
+
+    public String getOutboxKafkaTopic() {
+        return outboxKafkaTopic;
+    }
+
+    public int getOutboxRelayBatchSize() {
+        return outboxRelayBatchSize;
+    }
+
+    public long getOutboxRelayPublishTimeoutMs() {
+        return outboxRelayPublishTimeoutMs;
+    }
+
+    public long getOutboxRelayLeaseMs() {
+        return outboxRelayLeaseMs;
+    }
+
+    public int getOutboxRelayConcurrency() {
+        return outboxRelayConcurrency;
+    }
+
+    public long getOutboxRelayInitialBackoffMs() {
+        return outboxRelayInitialBackoffMs;
+    }
+
+    public long getOutboxRelayMaxBackoffMs() {
+        return outboxRelayMaxBackoffMs;
+    }
+
+    public boolean isAccountEventsEnabled() {
+        return accountEventsEnabled;
+    }
+
+    public String getAccountEventsTopic() {
+        return accountEventsTopic;
+    }
+
+    public int getAccountEventsBufferCapacity() {
+        return accountEventsBufferCapacity;
+    }
+
+    public String getAccountEventsOverflow() {
+        return accountEventsOverflow;
+    }
+
+    public String getAccountEventsSpillDirectory() {
+        return accountEventsSpillDirectory;
+    }
+
+    public long getAccountEventsSpillMaxBytes() {
+        return accountEventsSpillMaxBytes;
+    }
+
+    public long getAccountEventsSpillReplayIntervalMs() {
+        return accountEventsSpillReplayIntervalMs;
+    }
+
+    public long getAccountEventsSpillReplayTimeoutMs() {
+        return accountEventsSpillReplayTimeoutMs;
+    }
+
+    public int getAccountEventsProducerLingerMs() {
+        return accountEventsProducerLingerMs;
+    }
+
+    public int getAccountEventsProducerBatchSize() {
+        return accountEventsProducerBatchSize;
+    }
+
+    public String getAccountEventsProducerCompressionType() {
+        return accountEventsProducerCompressionType;
+    }
+
+    public long getAccountEventsProducerMaxBlockMs() {
+        return accountEventsProducerMaxBlockMs;
+    }
+
+    public int getHttpClientMaxConnections() {
+        return httpClientMaxConnections;
+    }
+
+    public int getHttpClientMaxConnectionsPerRoute() {
+        return httpClientMaxConnectionsPerRoute;
+    }
+
+    public long getHttpClientConnectTimeoutMs() {
+        return httpClientConnectTimeoutMs;
+    }
+
+    public long getHttpClientReadTimeoutMs() {
+        return httpClientReadTimeoutMs;
+    }
+
+    public long getHttpClientPoolAcquireTimeoutMs() {
+        return httpClientPoolAcquireTimeoutMs;
+    }
+
+    public long getHttpClientIdleEvictionSeconds() {
+        return httpClientIdleEvictionSeconds;
+    }
+
+    public long getHttpClientConnectionTtlSeconds() {
+        return httpClientConnectionTtlSeconds;
+    }
 }
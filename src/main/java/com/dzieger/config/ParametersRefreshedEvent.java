@@ -0,0 +1,17 @@
+package com.dzieger.config;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link Parameters} after values that can change at runtime were replaced.
+ */
+public class ParametersRefreshedEvent extends ApplicationEvent {
+
+    public ParametersRefreshedEvent(Parameters source) {
+        super(source);
+    }
+
+    public Parameters getParameters() {
+        return (Parameters) getSource();
+    }
+}
@@ -0,0 +1,44 @@
+package com.dzieger.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports which threading mode the service runs in.
+ * <p>
+ * The build targets Java 17, so virtual threads are opt-in through Spring Boot's own switch,
+ * {@code spring.threads.virtual.enabled=true}. On a Java 21+ runtime that moves Tomcat request handling,
+ * {@code @Scheduled} jobs and profile provisioning calls ({@code HttpPlayerEventPublisher}) onto virtual threads;
+ * BCrypt keeps its own bounded pool of platform threads (see {@code SharedConfig}), so hashing cannot occupy the
+ * carrier threads. On an older runtime the switch has no effect, which is logged here instead of failing silently.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    private final Environment environment;
+
+    public VirtualThreadsConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void logThreadingMode() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Virtual threads enabled for request handling, scheduled jobs and outbound HTTP calls");
+        } else if (requested) {
+            log.warn("spring.threads.virtual.enabled is set but the runtime is Java {}; virtual threads need Java 21 or later, using platform threads",
+                    JavaVersion.getJavaVersion());
+        } else {
+            log.info("Using platform threads for request handling");
+        }
+    }
+
+}
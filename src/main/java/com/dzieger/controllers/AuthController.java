@@ -1,18 +1,25 @@
 package com.dzieger.controllers;
 
+import com.dzieger.SecurityConfig.JwtPrincipal;
+import com.dzieger.dtos.ChangePasswordDTO;
 import com.dzieger.dtos.LoginDTO;
 import com.dzieger.dtos.OutgoingAuthenticatedPlayerDTO;
 import com.dzieger.dtos.OutgoingPlayerDTO;
+import com.dzieger.dtos.RefreshTokenDTO;
 import com.dzieger.dtos.RegisterDTO;
+import com.dzieger.services.LoginRateLimiter;
 import com.dzieger.services.PlayerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,9 +32,11 @@ public class AuthController {
     private static final Logger log = LoggerFactory.getLogger(AuthController.class);
 
     private final PlayerService playerService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthController(PlayerService playerService) {
+    public AuthController(PlayerService playerService, LoginRateLimiter loginRateLimiter) {
         this.playerService = playerService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @Operation(summary = "Register a new player", description = "Register a new player with the given details.")
@@ -47,13 +56,66 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful."),
             @ApiResponse(responseCode = "400", description = "Validation error."),
-            @ApiResponse(responseCode = "401", description = "Bad credentials.")
+            @ApiResponse(responseCode = "401", description = "Unknown username or wrong password; the two are not told apart."),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts for this username or client.")
     })
     @PostMapping("/login")
-    public ResponseEntity<OutgoingAuthenticatedPlayerDTO> login(@Valid @RequestBody LoginDTO loginDTO) {
+    public ResponseEntity<OutgoingAuthenticatedPlayerDTO> login(@Valid @RequestBody LoginDTO loginDTO, HttpServletRequest request) {
         log.info("Login endpoint hit");
         log.debug("Logging in player: {}", loginDTO);
+        loginRateLimiter.check(loginDTO.getUsername(), request.getRemoteAddr());
         return ResponseEntity.ok(playerService.login(loginDTO));
     }
 
+    @Operation(summary = "Refresh", description = "Exchange a refresh token for a new access token and a rotated refresh token.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed."),
+            @ApiResponse(responseCode = "400", description = "Validation error."),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired or reused refresh token.")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<OutgoingAuthenticatedPlayerDTO> refresh(@Valid @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        log.info("Refresh endpoint hit");
+        return ResponseEntity.ok(playerService.refresh(refreshTokenDTO.getRefreshToken()));
+    }
+
+    @Operation(summary = "Logout", description = "Revoke the presented access token and, if given, its refresh token family.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked."),
+            @ApiResponse(responseCode = "400", description = "Validation error."),
+            @ApiResponse(responseCode = "401", description = "No valid access token.")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal JwtPrincipal principal,
+                                       @Valid @RequestBody(required = false) RefreshTokenDTO refreshTokenDTO) {
+        log.info("Logout endpoint hit");
+        if (principal == null) {
+            throw new BadCredentialsException("Authentication required");
+        }
+        playerService.logout(principal.getTokenId(),
+                principal.getExpiration() != null ? principal.getExpiration().toInstant() : null,
+                refreshTokenDTO != null ? refreshTokenDTO.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Change password", description = "Replace the caller's password after checking the current one. "
+            + "Revokes the caller's access token and every refresh token of the account, so all sessions must log in again.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Password changed."),
+            @ApiResponse(responseCode = "400", description = "Validation error."),
+            @ApiResponse(responseCode = "401", description = "No valid access token, or wrong current password.")
+    })
+    @PostMapping("/password")
+    public ResponseEntity<Void> changePassword(@AuthenticationPrincipal JwtPrincipal principal,
+                                               @Valid @RequestBody ChangePasswordDTO changePasswordDTO) {
+        log.info("Change password endpoint hit");
+        if (principal == null) {
+            throw new BadCredentialsException("Authentication required");
+        }
+        playerService.changePassword(principal.getId(), principal.getTokenId(),
+                principal.getExpiration() != null ? principal.getExpiration().toInstant() : null,
+                changePasswordDTO.getCurrentPassword(), changePasswordDTO.getNewPassword());
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -0,0 +1,62 @@
+package com.dzieger.controllers;
+
+import com.dzieger.dtos.BatchIntrospectionRequestDTO;
+import com.dzieger.dtos.BatchIntrospectionResponseDTO;
+import com.dzieger.dtos.IntrospectionResponseDTO;
+import com.dzieger.services.TokenIntrospectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/auth/introspect")
+@Validated
+public class IntrospectionController {
+
+    private static final Logger log = LoggerFactory.getLogger(IntrospectionController.class);
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    public IntrospectionController(TokenIntrospectionService tokenIntrospectionService) {
+        this.tokenIntrospectionService = tokenIntrospectionService;
+    }
+
+    @Operation(summary = "Introspect a token", description = "RFC 7662 token introspection for other services. "
+            + "The caller authenticates with its own access token, which must carry the SERVICE or ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Introspection result; inactive tokens only report active=false."),
+            @ApiResponse(responseCode = "400", description = "Missing token parameter."),
+            @ApiResponse(responseCode = "403", description = "Caller is not an authorized service.")
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IntrospectionResponseDTO> introspect(@RequestParam("token") String token) {
+        log.debug("Introspect endpoint hit");
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(tokenIntrospectionService.introspect(token));
+    }
+
+    @Operation(summary = "Introspect many tokens", description = "Introspect up to " + BatchIntrospectionRequestDTO.MAX_TOKENS
+            + " tokens in one request. Results are returned in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One introspection result per token."),
+            @ApiResponse(responseCode = "400", description = "Validation error."),
+            @ApiResponse(responseCode = "403", description = "Caller is not an authorized service.")
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchIntrospectionResponseDTO> introspectBatch(@Valid @RequestBody BatchIntrospectionRequestDTO request) {
+        log.debug("Batch introspect endpoint hit with {} tokens", request.getTokens().size());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new BatchIntrospectionResponseDTO(tokenIntrospectionService.introspectAll(request.getTokens())));
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.dzieger.controllers;
+
+import com.dzieger.SecurityConfig.JwksDocument;
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.config.Parameters;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class JwksController {
+
+    private final JwtUtil jwtUtil;
+    private final Parameters params;
+
+    public JwksController(JwtUtil jwtUtil, Parameters params) {
+        this.jwtUtil = jwtUtil;
+        this.params = params;
+    }
+
+    @Operation(summary = "JSON Web Key Set", description = "Public keys other services use to verify access tokens locally.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current verification keys."),
+            @ApiResponse(responseCode = "304", description = "Keys unchanged since the given ETag.")
+    })
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The document is serialized when the key ring is built, so this only copies bytes
+        JwksDocument jwks = jwtUtil.getJwks();
+        CacheControl cacheControl = CacheControl.maxAge(params.getJwtJwksMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic();
+
+        if (matches(ifNoneMatch, jwks.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwks.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwks.getBody());
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+}
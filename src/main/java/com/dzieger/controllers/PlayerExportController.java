@@ -0,0 +1,83 @@
+package com.dzieger.controllers;
+
+import com.dzieger.dtos.OutgoingPlayerDTO;
+import com.dzieger.services.PlayerExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin/players")
+public class PlayerExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerExportController.class);
+
+    // Start time of this export minus an overlap: the since value for the next incremental export, so changes made
+    // while this one ran, or committed late, are not missed. Players in the overlap are sent again; consumers upsert by id
+    public static final String EXPORT_AS_OF_HEADER = "X-Export-As-Of";
+
+    private final PlayerExportService playerExportService;
+    private final ObjectMapper objectMapper;
+
+    public PlayerExportController(PlayerExportService playerExportService, ObjectMapper objectMapper) {
+        this.playerExportService = playerExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(summary = "Export players", description = "Streams players as NDJSON in id order. Pass the last id received as "
+            + "'after' to resume, and a previous export's " + EXPORT_AS_OF_HEADER + " header as 'since' for only what changed. "
+            + "Incremental exports overlap, so the same player can arrive more than once: apply players idempotently by id.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One player per line."),
+            @ApiResponse(responseCode = "400", description = "Malformed 'after' or 'since'."),
+            @ApiResponse(responseCode = "401", description = "No valid access token."),
+            @ApiResponse(responseCode = "403", description = "Caller is not an admin.")
+    })
+    @GetMapping(value = "/export", produces = PlayerImportController.NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportPlayers(@RequestParam(value = "after", required = false) UUID after,
+                              @RequestParam(value = "since", required = false) Instant since,
+                              HttpServletResponse response) throws IOException {
+        log.info("Player export endpoint hit (after {}, since {})", after, since);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(PlayerImportController.NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(EXPORT_AS_OF_HEADER, playerExportService.asOf().toString());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        try {
+            playerExportService.export(after, since, page -> {
+                try {
+                    for (OutgoingPlayerDTO player : page) {
+                        writer.write(objectMapper.writeValueAsString(player));
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // The client went away; it can resume from the last id it received
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+}
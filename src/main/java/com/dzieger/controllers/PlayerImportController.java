@@ -0,0 +1,80 @@
+package com.dzieger.controllers;
+
+import com.dzieger.dtos.PlayerImportResultDTO;
+import com.dzieger.services.PlayerImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/admin/players")
+public class PlayerImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerImportController.class);
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final PlayerImportService playerImportService;
+    private final ObjectMapper objectMapper;
+
+    public PlayerImportController(PlayerImportService playerImportService, ObjectMapper objectMapper) {
+        this.playerImportService = playerImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(summary = "Import players", description = "Bulk registration for admins. The body is NDJSON with one registration "
+            + "per line; the response is NDJSON with one result per non-blank line, streamed as each batch commits.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-line results: CREATED, INVALID, DUPLICATE_USERNAME, DUPLICATE_EMAIL or RETRY."),
+            @ApiResponse(responseCode = "401", description = "No valid access token."),
+            @ApiResponse(responseCode = "403", description = "Caller is not an admin.")
+    })
+    @PostMapping(value = "/import", consumes = NDJSON, produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importPlayers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Player import endpoint hit");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        try {
+            playerImportService.importPlayers(reader, results -> write(writer, results));
+        } catch (UncheckedIOException e) {
+            // The client went away; nothing left to report to
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, Iterable<PlayerImportResultDTO> results) {
+        try {
+            for (PlayerImportResultDTO result : results) {
+                writer.write(objectMapper.writeValueAsString(result));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.dzieger.controllers;
+
+import com.dzieger.dtos.ChangeRoleDTO;
+import com.dzieger.dtos.OutgoingPlayerDTO;
+import com.dzieger.services.PlayerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin/players")
+@Validated
+public class PlayerRoleController {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerRoleController.class);
+
+    private final PlayerService playerService;
+
+    public PlayerRoleController(PlayerService playerService) {
+        this.playerService = playerService;
+    }
+
+    @Operation(summary = "Change role", description = "Set a player's role. Access tokens already issued keep the old role until they expire.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Role changed."),
+            @ApiResponse(responseCode = "400", description = "Validation error or unknown player."),
+            @ApiResponse(responseCode = "401", description = "No valid access token."),
+            @ApiResponse(responseCode = "403", description = "Caller is not an admin.")
+    })
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutgoingPlayerDTO> changeRole(@PathVariable("id") UUID id, @Valid @RequestBody ChangeRoleDTO changeRoleDTO) {
+        log.info("Change role endpoint hit for player {}", id);
+        return ResponseEntity.ok(playerService.changeRole(id, changeRoleDTO.getRole()));
+    }
+
+}
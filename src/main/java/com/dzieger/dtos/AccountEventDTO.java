@@ -0,0 +1,100 @@
+package com.dzieger.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * One account lifecycle change, as published to {@code account-events.topic}.
+ * <p>
+ * {@code v} is the schema version; consumers must ignore unknown fields, and a change that removes or re-types a
+ * field bumps it. {@code at} is epoch milliseconds.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountEventDTO {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public static final String REGISTERED = "REGISTERED";
+    public static final String LOGGED_IN = "LOGGED_IN";
+    public static final String PASSWORD_CHANGED = "PASSWORD_CHANGED";
+    public static final String ROLE_CHANGED = "ROLE_CHANGED";
+
+    private int v = SCHEMA_VERSION;
+    private String type;
+    private UUID playerId;
+    private String username;
+    private String role;
+    private long at;
+
+    public AccountEventDTO() {
+    }
+
+    public AccountEventDTO(String type, UUID playerId, String username, String role, long at) {
+        this.type = type;
+        this.playerId = playerId;
+        this.username = username;
+        this.role = role;
+        this.at = at;
+    }
+
+    public int getV() {
+        return v;
+    }
+
+    public void setV(int v) {
+        this.v = v;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public long getAt() {
+        return at;
+    }
+
+    public void setAt(long at) {
+        this.at = at;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountEventDTO{" +
+                "v=" + v +
+                ", type='" + type + '\'' +
+                ", playerId=" + playerId +
+                ", username='" + username + '\'' +
+                ", role='" + role + '\'' +
+                ", at=" + at +
+                '}';
+    }
+}
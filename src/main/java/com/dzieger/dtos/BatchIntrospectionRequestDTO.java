@@ -0,0 +1,31 @@
+package com.dzieger.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchIntrospectionRequestDTO {
+
+    public static final int MAX_TOKENS = 100;
+
+    @NotEmpty(message = "{tokens.NotEmpty}")
+    @Size(max = MAX_TOKENS, message = "{tokens.Size}")
+    private List<@NotBlank(message = "{tokens.NotBlank}") String> tokens;
+
+    public BatchIntrospectionRequestDTO() {
+    }
+
+    public BatchIntrospectionRequestDTO(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
@@ -0,0 +1,19 @@
+package com.dzieger.dtos;
+
+import java.util.List;
+
+/**
+ * One introspection result per requested token, in request order.
+ */
+public class BatchIntrospectionResponseDTO {
+
+    private final List<IntrospectionResponseDTO> results;
+
+    public BatchIntrospectionResponseDTO(List<IntrospectionResponseDTO> results) {
+        this.results = results;
+    }
+
+    public List<IntrospectionResponseDTO> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dzieger.dtos;
+
+import com.dzieger.annotations.ValidPassword;
+import jakarta.validation.constraints.NotBlank;
+
+public class ChangePasswordDTO {
+
+    @NotBlank(message = "{password.NotBlank}")
+    private String currentPassword;
+
+    @NotBlank(message = "{password.NotBlank}")
+    @ValidPassword(message = "{password.ValidPassword}")
+    private String newPassword;
+
+    public ChangePasswordDTO() {
+    }
+
+    public ChangePasswordDTO(String currentPassword, String newPassword) {
+        this.currentPassword = currentPassword;
+        this.newPassword = newPassword;
+    }
+
+    public String getCurrentPassword() {
+        return currentPassword;
+    }
+
+    public void setCurrentPassword(String currentPassword) {
+        this.currentPassword = currentPassword;
+    }
+
+    public String getNewPassword() {
+        return newPassword;
+    }
+
+    public void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dzieger.dtos;
+
+import com.dzieger.models.enums.Role;
+import jakarta.validation.constraints.NotNull;
+
+public class ChangeRoleDTO {
+
+    @NotNull(message = "{role.NotNull}")
+    private Role role;
+
+    public ChangeRoleDTO() {
+    }
+
+    public ChangeRoleDTO(Role role) {
+        this.role = role;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+}
@@ -0,0 +1,97 @@
+package com.dzieger.dtos;
+
+import com.dzieger.SecurityConfig.ValidatedToken;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * RFC 7662 introspection response. Inactive tokens carry only {@code "active": false}, so a caller learns nothing
+ * about why a token was refused. {@code authorities} is an extension member holding the token's role claims.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponseDTO {
+
+    private static final IntrospectionResponseDTO INACTIVE = new IntrospectionResponseDTO(false, null, null, null, null, null, null, null);
+
+    private final boolean active;
+    private final String sub;
+    private final String username;
+    private final String iss;
+    private final Long exp;
+    private final String jti;
+    @JsonProperty("token_type")
+    private final String tokenType;
+    private final List<String> authorities;
+
+    private IntrospectionResponseDTO(boolean active, String sub, String username, String iss, Long exp, String jti, String tokenType, List<String> authorities) {
+        this.active = active;
+        this.sub = sub;
+        this.username = username;
+        this.iss = iss;
+        this.exp = exp;
+        this.jti = jti;
+        this.tokenType = tokenType;
+        this.authorities = authorities;
+    }
+
+    public static IntrospectionResponseDTO inactive() {
+        return INACTIVE;
+    }
+
+    public static IntrospectionResponseDTO active(ValidatedToken token) {
+        return new IntrospectionResponseDTO(
+                true,
+                token.getSubject().toString(),
+                token.getUsername(),
+                token.getIssuer(),
+                token.getExpiration().toInstant().getEpochSecond(),
+                token.getTokenId(),
+                "Bearer",
+                token.getAuthorities());
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getSub() {
+        return sub;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getIss() {
+        return iss;
+    }
+
+    public Long getExp() {
+        return exp;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "IntrospectionResponseDTO{" +
+                "active=" + active +
+                ", sub='" + sub + '\'' +
+                ", username='" + username + '\'' +
+                ", exp=" + exp +
+                ", jti='" + jti + '\'' +
+                '}';
+    }
+}
@@ -3,6 +3,7 @@ package com.dzieger.dtos;
 public class OutgoingAuthenticatedPlayerDTO extends OutgoingPlayerDTO{
 
     private String token;
+    private String refreshToken;
 
     public OutgoingAuthenticatedPlayerDTO() {
     }
@@ -20,6 +21,14 @@ public class OutgoingAuthenticatedPlayerDTO extends OutgoingPlayerDTO{
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     @Override
     public String toString() {
         return "OutgoingAuthenticatedPlayerDTO{" +
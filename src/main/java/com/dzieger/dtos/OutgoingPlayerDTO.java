@@ -1,7 +1,15 @@
 package com.dzieger.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
 public class OutgoingPlayerDTO {
 
+    // Only set by the player export, where it is the resume cursor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UUID id;
+
     private String firstName;
     private String username;
     private String role;
@@ -15,6 +23,19 @@ public class OutgoingPlayerDTO {
         this.role = role;
     }
 
+    public OutgoingPlayerDTO(UUID id, String firstName, String username, String role) {
+        this(firstName, username, role);
+        this.id = id;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -42,7 +63,8 @@ public class OutgoingPlayerDTO {
     @Override
     public String toString() {
         return "OutgoingPlayerDTO{" +
-                "firstName='" + firstName + '\'' +
+                "id=" + id +
+                ", firstName='" + firstName + '\'' +
                 ", username='" + username + '\'' +
                 ", role='" + role + '\'' +
                 '}';
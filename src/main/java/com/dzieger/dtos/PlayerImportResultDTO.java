@@ -0,0 +1,48 @@
+package com.dzieger.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Outcome of one NDJSON line of a bulk player import. {@code line} is the 1-based line number in the request body;
+ * {@code errors} maps field names to validation messages and is only present for {@code INVALID} rows.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerImportResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String DUPLICATE_USERNAME = "DUPLICATE_USERNAME";
+    public static final String DUPLICATE_EMAIL = "DUPLICATE_EMAIL";
+    // Hashing capacity was exhausted; the row can be resubmitted
+    public static final String RETRY = "RETRY";
+
+    private final int line;
+    private final String username;
+    private final String status;
+    private final Map<String, String> errors;
+
+    public PlayerImportResultDTO(int line, String username, String status, Map<String, String> errors) {
+        this.line = line;
+        this.username = username;
+        this.status = status;
+        this.errors = errors;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
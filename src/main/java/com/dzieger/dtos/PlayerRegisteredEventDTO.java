@@ -0,0 +1,52 @@
+package com.dzieger.dtos;
+
+import java.util.UUID;
+
+public class PlayerRegisteredEventDTO {
+
+    private UUID playerId;
+    private String username;
+    private String role;
+
+    public PlayerRegisteredEventDTO() {
+    }
+
+    public PlayerRegisteredEventDTO(UUID playerId, String username, String role) {
+        this.playerId = playerId;
+        this.username = username;
+        this.role = role;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerRegisteredEventDTO{" +
+                "playerId=" + playerId +
+                ", username='" + username + '\'' +
+                ", role='" + role + '\'' +
+                '}';
+    }
+}
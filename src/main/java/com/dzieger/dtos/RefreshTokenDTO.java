@@ -0,0 +1,24 @@
+package com.dzieger.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class RefreshTokenDTO {
+
+    @NotBlank(message = "{refreshToken.NotBlank}")
+    private String refreshToken;
+
+    public RefreshTokenDTO() {
+    }
+
+    public RefreshTokenDTO(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -3,7 +3,10 @@ package com.dzieger.exceptions;
 import com.dzieger.exceptions.jwt.InvalidIssuerException;
 import com.dzieger.exceptions.jwt.JwtExpiredException;
 import com.dzieger.exceptions.jwt.JwtValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -13,27 +16,51 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final List<String> OUTCOMES = List.of(
+            "duplicate_email", "duplicate_username", "validation_error", "user_not_found",
+            "bad_credentials", "hashing_capacity", "rate_limited", "jwt_expired", "jwt_invalid");
+
+    // Registered up front so every outcome is exported from startup, even before it first occurs
+    private final Map<String, Counter> outcomeCounters = new HashMap<>();
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        for (String outcome : OUTCOMES) {
+            outcomeCounters.put(outcome, Counter.builder("auth.errors")
+                    .description("Requests rejected by the exception handler, by outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void count(String outcome) {
+        outcomeCounters.get(outcome).increment();
+    }
+
     private ResponseEntity<Map<String, String>> createResponse(HttpStatus status, String error, String message) {
         return ResponseEntity.status(status).body(Map.of("error", error, "message", message));
     }
 
     @ExceptionHandler(DuplicateEmailException.class)
     public ResponseEntity<Map<String, String>> handleDuplicateEmailException(DuplicateEmailException e) {
+        count("duplicate_email");
         return createResponse(HttpStatus.CONFLICT, "Duplicate email", e.getMessage());
     }
 
     @ExceptionHandler(DuplicateUsernameException.class)
     public ResponseEntity<Map<String, String>> handleDuplicateUsernameException(DuplicateUsernameException e) {
+        count("duplicate_username");
         return createResponse(HttpStatus.CONFLICT, "Duplicate username", e.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+        count("validation_error");
         Map<String, String> fieldErrors = new HashMap<>();
         e.getBindingResult().getFieldErrors().forEach(error -> {
             String fieldName = error.getField(); // Use field name instead of object name
@@ -48,22 +75,48 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, String>> handleConstraintViolationException(ConstraintViolationException e) {
+        count("validation_error");
         return createResponse(HttpStatus.BAD_REQUEST, "Validation error", e.getMessage());
     }
 
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleUsernameNotFoundException(UsernameNotFoundException e) {
+        count("user_not_found");
         return createResponse(HttpStatus.BAD_REQUEST, "User not found", e.getMessage());
     }
 
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, String>> handleBadCredentialsException(BadCredentialsException e) {
+        count("bad_credentials");
         return createResponse(HttpStatus.UNAUTHORIZED, "Bad credentials", e.getMessage());
     }
 
-    @ExceptionHandler(JwtValidationException.class)
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleHashingCapacityExceededException(HashingCapacityExceededException e) {
+        count("hashing_capacity");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Service unavailable", "message", e.getMessage()));
+    }
+
+    @ExceptionHandler(LoginRateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleLoginRateLimitExceededException(LoginRateLimitExceededException e) {
+        count("rate_limited");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Too many requests", "message", e.getMessage()));
+    }
+
+    @ExceptionHandler(JwtExpiredException.class)
     public ResponseEntity<Map<String, String>> handleJwtExpiredException(JwtExpiredException e) {
-        return createResponse(HttpStatus.UNAUTHORIZED, e.getCause().toString(), e.getMessage());
+        count("jwt_expired");
+        return createResponse(HttpStatus.UNAUTHORIZED, "Token expired", e.getMessage());
+    }
+
+    @ExceptionHandler(JwtValidationException.class)
+    public ResponseEntity<Map<String, String>> handleJwtValidationException(JwtValidationException e) {
+        count("jwt_invalid");
+        return createResponse(HttpStatus.UNAUTHORIZED, "Invalid token", e.getMessage());
     }
 
 }
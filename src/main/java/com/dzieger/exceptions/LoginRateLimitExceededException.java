@@ -0,0 +1,15 @@
+package com.dzieger.exceptions;
+
+public class LoginRateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginRateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dzieger.exceptions.jwt;
+
+public class TokenRevokedException extends JwtValidationException{
+
+    public TokenRevokedException(String message) {
+        super(message);
+    }
+
+    public TokenRevokedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public TokenRevokedException() {
+        super("Jwt revoked");
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.dzieger.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Login attempts counted for one rate-limit key (a username or a client address) in one fixed window. Rows are only
+ * needed while their window can still overlap the sliding window, after which they are purged.
+ */
+@Entity
+@Table(name = "login_rate_limit_windows",
+        indexes = {
+                @Index(name = "idx_login_rate_limit_windows_expires_at", columnList = "expires_at")
+        })
+public class LoginRateLimitWindow {
+
+    @Id
+    @Column(name = "id", length = 320)
+    private String id;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public LoginRateLimitWindow() {
+    }
+
+    public LoginRateLimitWindow(String id, int attempts, Instant expiresAt) {
+        this.id = id;
+        this.attempts = attempts;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "LoginRateLimitWindow{" +
+                "id='" + id + '\'' +
+                ", attempts=" + attempts +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -1,20 +1,26 @@
 package com.dzieger.models;
 
 import com.dzieger.models.enums.Role;
+import com.dzieger.services.RegisteredUsernamesListener;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Component
 @Entity
+@EntityListeners(RegisteredUsernamesListener.class)
 @Table(name = "players", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "username"),
-        @UniqueConstraint(columnNames = "email")
+        @UniqueConstraint(name = "uk_players_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_players_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_players_created_at", columnList = "created_at"),
+        @Index(name = "idx_players_updated_at", columnList = "updated_at")
 })
 public class Player implements UserDetails {
 
@@ -25,10 +31,10 @@ public class Player implements UserDetails {
     @Column(name = "first_name", nullable = false)
     private String firstName;
 
-    @Column(name = "username", nullable = false, unique = true)
+    @Column(name = "username", nullable = false)
     private String username;
 
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Column(name = "password", nullable = false)
@@ -37,6 +43,15 @@ public class Player implements UserDetails {
     @Column(name = "role", nullable = false)
     private String role;
 
+    // Null for players created before the column existed
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    // Last change to the row, password included; drives incremental exports and player cache invalidation on other
+    // nodes. Null like created_at
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public Player() {
     }
 
@@ -96,6 +111,31 @@ public class Player implements UserDetails {
         this.role = role.toString();
     }
 
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return UserDetails.super.isAccountNonExpired();
@@ -130,6 +170,8 @@ public class Player implements UserDetails {
                 ", email='" + email + '\'' +
                 ", password='" + password + '\'' +
                 ", role=" + role +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
                 '}';
     }
 }
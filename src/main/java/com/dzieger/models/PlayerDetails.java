@@ -0,0 +1,71 @@
+package com.dzieger.models;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, detached projection of a {@link Player} holding only what authentication needs.
+ * Safe to share between threads and to keep in the player details cache.
+ */
+public final class PlayerDetails implements UserDetails {
+
+    private final UUID id;
+    private final String username;
+    private final String firstName;
+    private final String role;
+    private final String password;
+
+    public PlayerDetails(UUID id, String username, String firstName, String role, String password) {
+        this.id = id;
+        this.username = username;
+        this.firstName = firstName;
+        this.role = role;
+        this.password = password;
+    }
+
+    public static PlayerDetails from(Player player) {
+        return new PlayerDetails(player.getId(), player.getUsername(), player.getFirstName(), player.getRole(), player.getPassword());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerDetails{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", firstName='" + firstName + '\'' +
+                ", role='" + role + '\'' +
+                '}';
+    }
+}
@@ -2,5 +2,7 @@ package com.dzieger.models.enums;
 
 public enum Role {
     PLAYER,
-    ADMIN
+    ADMIN,
+    // Service accounts allowed to introspect tokens
+    SERVICE
 }
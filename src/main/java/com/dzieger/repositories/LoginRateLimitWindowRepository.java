@@ -0,0 +1,25 @@
+package com.dzieger.repositories;
+
+import com.dzieger.models.LoginRateLimitWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface LoginRateLimitWindowRepository extends JpaRepository<LoginRateLimitWindow, String> {
+
+    @Transactional
+    @Modifying
+    @Query("update LoginRateLimitWindow w set w.attempts = w.attempts + 1 where w.id = :id")
+    int increment(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from LoginRateLimitWindow w where w.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,27 @@
+package com.dzieger.repositories;
+
+import com.dzieger.models.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // Locks the batch for the calling transaction; lock timeout -2 is Hibernate's SKIP LOCKED, so several
+    // relay instances each take a different batch instead of blocking on one another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.nextAttemptAt <= :now order by e.createdAt")
+    List<OutboxEvent> findDueForPublishing(@Param("now") Instant now, Pageable pageable);
+}
@@ -1,9 +1,18 @@
 package com.dzieger.repositories;
 
 import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +21,32 @@ public interface PlayerRepository extends JpaRepository<Player, UUID> {
     Optional<Player> findByUsername(String username);
 
     Optional<Player> findByEmail(String email);
+
+    // Login projection: only the columns authentication needs, without loading a managed entity
+    @Query("select new com.dzieger.models.PlayerDetails(p.id, p.username, p.firstName, p.role, p.password) " +
+            "from Player p where p.username = :username")
+    Optional<PlayerDetails> findDetailsByUsername(@Param("username") String username);
+
+    // Keyset pagination over the unique username index, for loading every username without an offset scan
+    @Query("select p.username from Player p where p.username > :after order by p.username")
+    List<String> findUsernamesAfter(@Param("after") String after, Pageable limit);
+
+    // Set-based duplicate checks for bulk imports: one query per batch instead of one per row
+    @Query("select p.username from Player p where p.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select p.email from Player p where p.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select p.username from Player p where p.createdAt >= :since")
+    List<String> findUsernamesCreatedSince(@Param("since") Instant since);
+
+    @Query("select p.username from Player p where p.updatedAt >= :since")
+    List<String> findUsernamesUpdatedSince(@Param("since") Instant since);
+
+    // Bulk update skips @PreUpdate, so updated_at is set here; other nodes' player caches poll it
+    @Transactional
+    @Modifying
+    @Query("update Player p set p.password = :password, p.updatedAt = :updatedAt where p.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password, @Param("updatedAt") Instant updatedAt);
 }
@@ -0,0 +1,508 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.AccountEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes account lifecycle events (registration, login, password and role changes) to Kafka, off the request path.
+ * <p>
+ * {@link #publish} only offers the event to a bounded in-memory buffer, so a slow or unreachable broker never holds up
+ * a request. One drainer thread hands buffered events to an idempotent producer that batches them per partition
+ * ({@code linger.ms}, {@code batch.size}) and compresses each batch. Events are keyed by player id, so one player's
+ * events stay ordered within a partition.
+ * <p>
+ * When the buffer is full, or the broker still rejects an event after the producer's retries, the overflow policy
+ * applies: {@code drop} counts and discards the event, {@code spill} appends it to an NDJSON file that the drainer
+ * replays once the buffer is empty again, including after a restart. Rejected events are handed back to the drainer
+ * rather than written from the producer's I/O thread.
+ * <p>
+ * A replay sends the file in windows and waits for each window to be acknowledged. It stops at the first event that is
+ * not, keeps the file from that event on, and backs off before the next attempt, so an unreachable broker costs at
+ * most one {@code max.block.ms} per attempt rather than one per spilled event. Replayed events can arrive after newer
+ * ones and, when a replay stops or the process crashes mid-replay, more than once; consumers order by {@code at} and
+ * tolerate duplicates.
+ */
+@Service
+public class AccountEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountEventPublisher.class);
+
+    static final String SPILL_FILE = "account-events.spill.ndjson";
+    static final String REPLAY_FILE = "account-events.replay.ndjson";
+
+    // Spilled events name players, so only the service's own user may read the directory and its files
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private static final String DEFAULT_TOPIC = "account.events";
+    private static final int DEFAULT_BUFFER_CAPACITY = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 65_536;
+    private static final long DEFAULT_MAX_BLOCK_MS = 5_000;
+    private static final long DEFAULT_REPLAY_INTERVAL_MS = 5_000;
+    private static final long DEFAULT_REPLAY_TIMEOUT_MS = 10_000;
+    private static final long MAX_REPLAY_BACKOFF_MS = 60_000;
+    private static final int REPLAY_WINDOW = 500;
+    private static final long POLL_MILLIS = 200;
+    private static final long SHUTDOWN_MILLIS = 5_000;
+
+    private final boolean enabled;
+    private final String topic;
+    private final boolean spillOnOverflow;
+    private final long spillMaxBytes;
+    private final long replayIntervalMillis;
+    private final long replayTimeoutMillis;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final BlockingQueue<AccountEventDTO> buffer;
+    private final ProducerFactory<String, String> producerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final Object spillLock = new Object();
+    // Events the broker rejected, left for the drainer to spill or drop
+    private final Queue<AccountEventDTO> rejected = new ConcurrentLinkedQueue<>();
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+
+    private volatile boolean running;
+    private Thread drainer;
+    // Only touched by the drainer thread
+    private long nextReplayMillis;
+    private long replayBackoffMillis;
+
+    @Autowired
+    public AccountEventPublisher(Parameters params, KafkaProperties kafkaProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(params,
+                params.isAccountEventsEnabled()
+                        ? new DefaultKafkaProducerFactory<>(producerConfig(params, kafkaProperties.buildProducerProperties(null)))
+                        : null,
+                objectMapper,
+                meterRegistry);
+    }
+
+    AccountEventPublisher(Parameters params, ProducerFactory<String, String> producerFactory, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = params.isAccountEventsEnabled() && producerFactory != null;
+        this.topic = params.getAccountEventsTopic() != null ? params.getAccountEventsTopic() : DEFAULT_TOPIC;
+        this.spillOnOverflow = !"drop".equalsIgnoreCase(params.getAccountEventsOverflow());
+        this.spillMaxBytes = params.getAccountEventsSpillMaxBytes();
+        this.replayIntervalMillis = params.getAccountEventsSpillReplayIntervalMs() > 0
+                ? params.getAccountEventsSpillReplayIntervalMs()
+                : DEFAULT_REPLAY_INTERVAL_MS;
+        this.replayTimeoutMillis = params.getAccountEventsSpillReplayTimeoutMs() > 0
+                ? params.getAccountEventsSpillReplayTimeoutMs()
+                : DEFAULT_REPLAY_TIMEOUT_MS;
+        this.replayBackoffMillis = replayIntervalMillis;
+        Path spillDirectory = Path.of(params.getAccountEventsSpillDirectory() != null
+                ? params.getAccountEventsSpillDirectory()
+                : System.getProperty("user.home") + "/.catan-auth/account-events");
+        this.spillFile = spillDirectory.resolve(SPILL_FILE);
+        this.replayFile = spillDirectory.resolve(REPLAY_FILE);
+        this.buffer = new ArrayBlockingQueue<>(params.getAccountEventsBufferCapacity() > 0
+                ? params.getAccountEventsBufferCapacity()
+                : DEFAULT_BUFFER_CAPACITY);
+        this.producerFactory = producerFactory;
+        this.kafkaTemplate = producerFactory != null ? new KafkaTemplate<>(producerFactory) : null;
+        this.objectMapper = objectMapper;
+
+        this.publishedCounter = outcomeCounter(meterRegistry, "published");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.droppedCounter = outcomeCounter(meterRegistry, "dropped");
+        this.spilledCounter = outcomeCounter(meterRegistry, "spilled");
+        Gauge.builder("account.events.buffer", buffer, BlockingQueue::size)
+                .description("Account events waiting for the drainer")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("account.events")
+                .description("Account events by outcome; failed ones are also counted as spilled or dropped")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The Spring Boot producer settings ({@code spring.kafka.*}) with the delivery and batching settings this stream
+     * relies on laid over them. Idempotence makes the producer's own retries safe: the broker discards a resent batch
+     * it already has, so a retry can neither duplicate nor reorder events within a partition.
+     */
+    static Map<String, Object> producerConfig(Parameters params, Map<String, Object> base) {
+        Map<String, Object> config = new HashMap<>(base);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, Math.max(0, params.getAccountEventsProducerLingerMs()));
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, params.getAccountEventsProducerBatchSize() > 0
+                ? params.getAccountEventsProducerBatchSize()
+                : DEFAULT_BATCH_SIZE);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, params.getAccountEventsProducerCompressionType() != null
+                ? params.getAccountEventsProducerCompressionType()
+                : "none");
+        // Bounds how long the drainer waits on metadata or a full producer buffer before treating the send as failed
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, params.getAccountEventsProducerMaxBlockMs() > 0
+                ? params.getAccountEventsProducerMaxBlockMs()
+                : DEFAULT_MAX_BLOCK_MS);
+        return config;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Account events are disabled");
+            return;
+        }
+
+        try {
+            Path spillDirectory = spillFile.getParent();
+            Files.createDirectories(spillDirectory);
+            if (isPosix(spillDirectory)) {
+                Files.setPosixFilePermissions(spillDirectory, OWNER_ONLY_DIRECTORY);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot create account event spill directory {}", spillFile.getParent(), e);
+        }
+
+        running = true;
+        drainer = new Thread(this::drain, "account-events");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("Publishing account events to topic {} (buffer {}, overflow {})", topic,
+                buffer.remainingCapacity(), spillOnOverflow ? "spill to " + spillFile : "drop");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (drainer == null) {
+            return;
+        }
+
+        // The drainer keeps going until the buffer is empty; whatever it does not reach in time overflows
+        running = false;
+        try {
+            drainer.join(SHUTDOWN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        AccountEventDTO event;
+        while ((event = buffer.poll()) != null) {
+            overflow(event);
+        }
+
+        // Closing the producer sends what it still holds, waiting up to its close timeout
+        if (producerFactory instanceof DefaultKafkaProducerFactory<String, String> defaultProducerFactory) {
+            defaultProducerFactory.destroy();
+        }
+        overflowRejected();
+        log.info("Account event publisher stopped");
+    }
+
+    /**
+     * Queues one event for publishing and returns immediately.
+     */
+    public void publish(String type, UUID playerId, String username, String role) {
+        if (!enabled) {
+            return;
+        }
+
+        AccountEventDTO event = new AccountEventDTO(type, playerId, username, role, System.currentTimeMillis());
+        if (!buffer.offer(event)) {
+            overflow(event);
+        }
+    }
+
+    private void drain() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                overflowRejected();
+                AccountEventDTO event = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    send(event);
+                } else if (running) {
+                    replaySpilled();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Account event drainer failed, continuing", e);
+            }
+        }
+    }
+
+    private void send(AccountEventDTO event) {
+        ProducerRecord<String, String> record = toRecord(event);
+        if (record == null) {
+            return;
+        }
+
+        try {
+            kafkaTemplate.send(record).whenComplete((result, failure) -> {
+                if (failure == null) {
+                    publishedCounter.increment();
+                } else {
+                    failedCounter.increment();
+                    log.debug("Failed to publish account event {}", event, failure);
+                    // Runs on the producer's I/O thread, which must not wait on the spill file
+                    rejected.add(event);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Metadata or producer buffer not available within max.block.ms
+            failedCounter.increment();
+            log.debug("Failed to hand account event {} to the producer", event, e);
+            overflow(event);
+        }
+    }
+
+    private ProducerRecord<String, String> toRecord(AccountEventDTO event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize account event {}", event, e);
+            droppedCounter.increment();
+            return null;
+        }
+
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, event.getPlayerId().toString(), payload);
+        record.headers().add("eventType", event.getType().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("schemaVersion", Integer.toString(event.getV()).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private void overflowRejected() {
+        AccountEventDTO event;
+        while ((event = rejected.poll()) != null) {
+            overflow(event);
+        }
+    }
+
+    private void overflow(AccountEventDTO event) {
+        if (spillOnOverflow && spill(event)) {
+            spilledCounter.increment();
+            return;
+        }
+        droppedCounter.increment();
+        log.debug("Dropped account event {}", event);
+    }
+
+    private boolean spill(AccountEventDTO event) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8);
+            synchronized (spillLock) {
+                if (spillMaxBytes > 0 && Files.exists(spillFile) && Files.size(spillFile) + line.length > spillMaxBytes) {
+                    return false;
+                }
+                if (!Files.exists(spillFile)) {
+                    createOwnerOnly(spillFile);
+                }
+                Files.write(spillFile, line, StandardOpenOption.APPEND);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to spill account event {}", event, e);
+            return false;
+        }
+    }
+
+    // The spill file is moved aside before it is read, so events that overflow during the replay start a new one
+    private void replaySpilled() {
+        if (System.currentTimeMillis() < nextReplayMillis) {
+            return;
+        }
+
+        boolean delivered;
+        try {
+            synchronized (spillLock) {
+                // A replay file left behind by a previous run is finished before the current spill file is taken
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) {
+                        nextReplayMillis = System.currentTimeMillis() + replayIntervalMillis;
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            delivered = replay();
+        } catch (IOException e) {
+            log.warn("Failed to replay spilled account events", e);
+            delivered = false;
+        }
+
+        replayBackoffMillis = delivered
+                ? replayIntervalMillis
+                : Math.min(replayBackoffMillis * 2, Math.max(MAX_REPLAY_BACKOFF_MS, replayIntervalMillis));
+        nextReplayMillis = System.currentTimeMillis() + replayBackoffMillis;
+    }
+
+    /**
+     * Sends the replay file one window at a time. The file is deleted once every event in it has been acknowledged;
+     * otherwise it is rewritten to start at the first event that was not, and false is returned.
+     */
+    private boolean replay() throws IOException {
+        Path remaining = replayFile.resolveSibling(REPLAY_FILE + ".remaining");
+        int replayed = 0;
+        boolean complete = true;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<String> window = new ArrayList<>(REPLAY_WINDOW);
+            while (running && readWindow(reader, window)) {
+                int acknowledged = sendWindow(window);
+                replayed += acknowledged;
+                if (acknowledged < window.size()) {
+                    complete = false;
+                    keep(remaining, window.subList(acknowledged, window.size()), reader);
+                    break;
+                }
+                window.clear();
+            }
+            if (complete && !running) {
+                complete = false;
+                keep(remaining, List.of(), reader);
+            }
+        }
+
+        if (complete) {
+            Files.delete(replayFile);
+            log.info("Replayed {} spilled account events", replayed);
+        } else {
+            Files.move(remaining, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Replayed {} spilled account events, keeping the rest for the next attempt", replayed);
+        }
+        return complete;
+    }
+
+    private static boolean readWindow(BufferedReader reader, List<String> window) throws IOException {
+        String line;
+        while (window.size() < REPLAY_WINDOW && (line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                window.add(line);
+            }
+        }
+        return !window.isEmpty();
+    }
+
+    /**
+     * Sends one window and waits up to the replay timeout for the acknowledgements. Returns how many events from the
+     * start of the window were acknowledged; a send the producer cannot even accept ends the window there.
+     */
+    private int sendWindow(List<String> window) {
+        List<CompletableFuture<?>> acks = new ArrayList<>(window.size());
+        for (String line : window) {
+            AccountEventDTO event;
+            try {
+                event = objectMapper.readValue(line, AccountEventDTO.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable spilled account event");
+                droppedCounter.increment();
+                acks.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            ProducerRecord<String, String> record = toRecord(event);
+            if (record == null) {
+                acks.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            try {
+                acks.add(kafkaTemplate.send(record).whenComplete((result, failure) -> {
+                    if (failure == null) {
+                        publishedCounter.increment();
+                    }
+                }));
+            } catch (RuntimeException e) {
+                // Metadata or producer buffer not available within max.block.ms; the rest would block just as long
+                log.debug("Failed to hand spilled account event {} to the producer", event, e);
+                break;
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(replayTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Spilled account events were not all acknowledged", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int acknowledged = 0;
+        while (acknowledged < acks.size() && acks.get(acknowledged).isDone() && !acks.get(acknowledged).isCompletedExceptionally()) {
+            acknowledged++;
+        }
+        return acknowledged;
+    }
+
+    private static void keep(Path remaining, List<String> unacknowledged, BufferedReader reader) throws IOException {
+        Files.deleteIfExists(remaining);
+        createOwnerOnly(remaining);
+        try (BufferedWriter writer = Files.newBufferedWriter(remaining, StandardCharsets.UTF_8)) {
+            for (String line : unacknowledged) {
+                writer.write(line);
+                writer.newLine();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void createOwnerOnly(Path file) throws IOException {
+        if (isPosix(file.getParent())) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        } else {
+            Files.createFile(file);
+        }
+    }
+
+    private static boolean isPosix(Path directory) throws IOException {
+        return Files.getFileStore(directory).supportsFileAttributeView(PosixFileAttributeView.class);
+    }
+
+}
@@ -1,7 +1,6 @@
 package com.dzieger.services;
 
 import com.dzieger.SecurityConfig.JwtUtil;
-import com.dzieger.repositories.PlayerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,12 +14,12 @@ public class AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final JwtUtil jwtUtil;
-    private final PlayerRepository playerRepository;
+    private final PlayerDetailsCache playerDetailsCache;
 
     @Autowired
-    public AuthService(JwtUtil jwtUtil, PlayerRepository playerRepository) {
+    public AuthService(JwtUtil jwtUtil, PlayerDetailsCache playerDetailsCache) {
         this.jwtUtil = jwtUtil;
-        this.playerRepository = playerRepository;
+        this.playerDetailsCache = playerDetailsCache;
     }
 
     public String extractUsernameFromToken(String token) {
@@ -29,9 +28,16 @@ public class AuthService {
 
     public UserDetails loadUserByUsername(String username) {
         log.info("Loading user by username: {}", username);
-        return playerRepository.findByUsername(username)
+        return playerDetailsCache.get(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
+    /**
+     * Cached existence check used by the optional "verify user still exists" mode of the JWT filter.
+     * Cache entries expire after the configured TTL, so a deleted player is locked out within that window.
+     */
+    public boolean playerExists(String username) {
+        return playerDetailsCache.get(username).isPresent();
+    }
 
 }
@@ -0,0 +1,119 @@
+package com.dzieger.services;
+
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.PlayerRegisteredEventDTO;
+import com.dzieger.models.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the player profile by calling the Player Service REST API, as registration used to do inline.
+ * <p>
+ * Calls never run on the relay thread, so the relay's publish timeout bounds how long it waits for a batch; each call
+ * is bounded by the HTTP client's connect, pool-acquire and response timeouts. On platform threads the calls run on a
+ * small pool of {@code outbox.relay.concurrency} threads with a bounded queue, and a call that does not fit fails at
+ * once and is retried with the relay's backoff. When virtual threads are active ({@code spring.threads.virtual.enabled=true}
+ * on Java 21+) each call gets its own virtual thread, bounded by the HTTP client pool rather than by a thread pool.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "http", matchIfMissing = true)
+public class HttpPlayerEventPublisher implements PlayerEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpPlayerEventPublisher.class);
+
+    private static final int DEFAULT_CONCURRENCY = 8;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
+
+    private final RestTemplate restTemplate;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final Parameters params;
+    private final Executor executor;
+
+    public HttpPlayerEventPublisher(RestTemplate restTemplate, JwtUtil jwtUtil, ObjectMapper objectMapper, Parameters params,
+                                    Environment environment) {
+        this.restTemplate = restTemplate;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.params = params;
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtualThreadExecutor = new SimpleAsyncTaskExecutor("player-profile-");
+            virtualThreadExecutor.setVirtualThreads(true);
+            this.executor = virtualThreadExecutor;
+        } else {
+            int threads = params.getOutboxRelayConcurrency() > 0 ? params.getOutboxRelayConcurrency() : DEFAULT_CONCURRENCY;
+            int queueCapacity = params.getOutboxRelayBatchSize() > 0 ? params.getOutboxRelayBatchSize() : DEFAULT_QUEUE_CAPACITY;
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("player-profile-");
+            threadFactory.setDaemon(true);
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            threadPoolExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(OutboxEvent event) {
+        if (!OutboxEvent.PLAYER_REGISTERED.equals(event.getEventType())) {
+            log.warn("Skipping unsupported outbox event type: {}", event.getEventType());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        PlayerRegisteredEventDTO registered;
+        try {
+            registered = objectMapper.readValue(event.getPayload(), PlayerRegisteredEventDTO.class);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        try {
+            return CompletableFuture.runAsync(() -> createPlayerProfile(registered), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void createPlayerProfile(PlayerRegisteredEventDTO registered) {
+        log.info("Creating player profile for player: {}", registered.getPlayerId());
+
+        String url = params.getPlayerServiceUrl() + "/api/v1/player/v1/profile";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(registered.getPlayerId(), registered.getUsername(), List.of(registered.getRole())));
+
+        HttpEntity<Map<String, UUID>> request = new HttpEntity<>(Map.of("playerId", registered.getPlayerId()), headers);
+
+        String response = restTemplate.postForEntity(url, request, String.class).getBody();
+
+        log.info("Player profile created successfully: {}", response);
+    }
+}
@@ -0,0 +1,63 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-node attempt counters. Each key holds an immutable two-window snapshot behind an {@link AtomicReference}, so
+ * attempts are counted with a compare-and-set and never block; the Caffeine map is itself striped, and keys idle for
+ * two windows are evicted.
+ */
+@Component
+@ConditionalOnProperty(name = "login-rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginRateLimitStore implements LoginRateLimitStore {
+
+    private static final long DEFAULT_MAX_KEYS = 100_000;
+    private static final long DEFAULT_WINDOW_SECONDS = 60;
+
+    private final Cache<String, AtomicReference<Window>> windows;
+
+    public InMemoryLoginRateLimitStore(Parameters params) {
+        long windowSeconds = params.getLoginRateLimitWindowSeconds() > 0 ? params.getLoginRateLimitWindowSeconds() : DEFAULT_WINDOW_SECONDS;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(params.getLoginRateLimitMaxKeys() > 0 ? params.getLoginRateLimitMaxKeys() : DEFAULT_MAX_KEYS)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds * 2))
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, long windowMillis, long nowMillis) {
+        long index = nowMillis / windowMillis;
+        long elapsed = nowMillis % windowMillis;
+        AtomicReference<Window> ref = windows.get(key, k -> new AtomicReference<>(new Window(index, 0, 0)));
+
+        while (true) {
+            Window window = ref.get();
+            Window rolled = window.rollTo(index);
+            long retryAfter = LoginRateLimitStore.retryAfterMillis(rolled.previous(), rolled.current(), limit, windowMillis, elapsed);
+            if (retryAfter > 0) {
+                return retryAfter;
+            }
+            if (ref.compareAndSet(window, new Window(rolled.index(), rolled.previous(), rolled.current() + 1))) {
+                return 0;
+            }
+        }
+    }
+
+    private record Window(long index, int previous, int current) {
+
+        Window rollTo(long newIndex) {
+            if (newIndex <= index) {
+                return this;
+            }
+            return new Window(newIndex, newIndex == index + 1 ? current : 0, 0);
+        }
+    }
+
+}
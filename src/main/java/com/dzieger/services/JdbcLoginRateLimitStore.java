@@ -0,0 +1,80 @@
+package com.dzieger.services;
+
+import com.dzieger.models.LoginRateLimitWindow;
+import com.dzieger.repositories.LoginRateLimitWindowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Attempt counters shared by every node through the {@code login_rate_limit_windows} table, so a client spreading
+ * attempts across the fleet meets one limit instead of one per node. The check and the increment are separate
+ * statements, so concurrent attempts can overshoot the limit slightly. If the database cannot be reached the
+ * attempt is let through: the login itself needs the same database.
+ */
+@Component
+@ConditionalOnProperty(name = "login-rate-limit.store", havingValue = "jdbc")
+public class JdbcLoginRateLimitStore implements LoginRateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcLoginRateLimitStore.class);
+
+    private final LoginRateLimitWindowRepository windowRepository;
+
+    public JdbcLoginRateLimitStore(LoginRateLimitWindowRepository windowRepository) {
+        this.windowRepository = windowRepository;
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, long windowMillis, long nowMillis) {
+        long index = nowMillis / windowMillis;
+        String currentId = key + "@" + index;
+        String previousId = key + "@" + (index - 1);
+
+        try {
+            int current = 0;
+            int previous = 0;
+            for (LoginRateLimitWindow window : windowRepository.findAllById(List.of(currentId, previousId))) {
+                if (window.getId().equals(currentId)) {
+                    current = window.getAttempts();
+                } else {
+                    previous = window.getAttempts();
+                }
+            }
+
+            long retryAfter = LoginRateLimitStore.retryAfterMillis(previous, current, limit, windowMillis, nowMillis % windowMillis);
+            if (retryAfter > 0) {
+                return retryAfter;
+            }
+
+            if (windowRepository.increment(currentId) == 0) {
+                try {
+                    // Kept until the window after this one has also ended
+                    windowRepository.saveAndFlush(new LoginRateLimitWindow(currentId, 1, Instant.ofEpochMilli((index + 2) * windowMillis)));
+                } catch (DataIntegrityViolationException e) {
+                    // Another node created the row first
+                    windowRepository.increment(currentId);
+                }
+            }
+            return 0;
+        } catch (DataAccessException e) {
+            log.warn("Login rate limit store unavailable, allowing attempt", e);
+            return 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${login-rate-limit.cleanup-interval-ms:600000}", initialDelayString = "${login-rate-limit.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        int deleted = windowRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired login rate limit windows", deleted);
+        }
+    }
+
+}
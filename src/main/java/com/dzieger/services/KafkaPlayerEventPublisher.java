@@ -0,0 +1,37 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.OutboxEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes outbox events to Kafka, keyed by player id so events for one player stay ordered within a partition.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "kafka")
+public class KafkaPlayerEventPublisher implements PlayerEventPublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final Parameters params;
+
+    public KafkaPlayerEventPublisher(KafkaTemplate<String, String> kafkaTemplate, Parameters params) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.params = params;
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(
+                params.getOutboxKafkaTopic(), event.getAggregateId().toString(), event.getPayload());
+        record.headers().add("eventType", event.getEventType().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("eventId", event.getId().toString().getBytes(StandardCharsets.UTF_8));
+
+        return kafkaTemplate.send(record).thenApply(result -> null);
+    }
+}
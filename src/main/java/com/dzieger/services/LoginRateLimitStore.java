@@ -0,0 +1,37 @@
+package com.dzieger.services;
+
+/**
+ * Attempt counters behind {@link LoginRateLimiter}. The store is selected with {@code login-rate-limit.store}
+ * ({@code memory} or {@code jdbc}).
+ */
+public interface LoginRateLimitStore {
+
+    /**
+     * Counts one attempt for {@code key} unless that would exceed {@code limit} in the sliding window ending at
+     * {@code nowMillis}.
+     *
+     * @return 0 when the attempt was counted, otherwise the milliseconds until one would be allowed
+     */
+    long tryAcquire(String key, int limit, long windowMillis, long nowMillis);
+
+    /**
+     * Sliding window counter: the previous fixed window's count is weighted by how much of it still overlaps the
+     * sliding window, which approximates a true sliding log with two counters per key.
+     *
+     * @return 0 when one more attempt fits under {@code limit}, otherwise the milliseconds until it would
+     */
+    static long retryAfterMillis(long previous, long current, int limit, long windowMillis, long elapsedMillis) {
+        double overlap = (windowMillis - elapsedMillis) / (double) windowMillis;
+        if (previous * overlap + current + 1 <= limit) {
+            return 0;
+        }
+        if (current + 1 > limit) {
+            // Even a clean previous window would not help: wait for this one to roll over and decay far enough
+            double decayed = 1 - (limit - 1) / (double) current;
+            return (windowMillis - elapsedMillis) + (long) Math.ceil(decayed * windowMillis);
+        }
+        double decayed = 1 - (limit - 1 - current) / (double) previous;
+        return Math.max(1, (long) Math.ceil(decayed * windowMillis) - elapsedMillis);
+    }
+
+}
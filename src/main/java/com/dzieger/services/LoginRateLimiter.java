@@ -0,0 +1,93 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.exceptions.LoginRateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding-window limits on login attempts per client address and per username.
+ * <p>
+ * {@link #check(String, String)} runs before the player lookup and the BCrypt verification, so a client hammering
+ * {@code /auth/login} is turned away for the cost of a counter update instead of a password hash. The address limit
+ * is checked first and is the looser one, covering one client trying many usernames; the username limit covers many
+ * clients guessing one account's password. Every attempt counts, successful or not, since each one costs a hash.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private static final long DEFAULT_WINDOW_SECONDS = 60;
+
+    private final LoginRateLimitStore store;
+    private final Parameters params;
+    private final Clock clock;
+
+    private final Counter addressRejectedCounter;
+    private final Counter usernameRejectedCounter;
+
+    @Autowired
+    public LoginRateLimiter(LoginRateLimitStore store, Parameters params, MeterRegistry meterRegistry) {
+        this(store, params, meterRegistry, Clock.systemUTC());
+    }
+
+    LoginRateLimiter(LoginRateLimitStore store, Parameters params, MeterRegistry meterRegistry, Clock clock) {
+        this.store = store;
+        this.params = params;
+        this.clock = clock;
+        this.addressRejectedCounter = Counter.builder("auth.login.rate-limited")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("limit", "address")
+                .register(meterRegistry);
+        this.usernameRejectedCounter = Counter.builder("auth.login.rate-limited")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("limit", "username")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts one login attempt, or throws {@link LoginRateLimitExceededException} if either limit is spent.
+     */
+    public void check(String username, String clientAddress) {
+        if (!params.isLoginRateLimitEnabled()) {
+            return;
+        }
+
+        long windowMillis = TimeUnit.SECONDS.toMillis(params.getLoginRateLimitWindowSeconds() > 0
+                ? params.getLoginRateLimitWindowSeconds()
+                : DEFAULT_WINDOW_SECONDS);
+        long now = clock.millis();
+
+        if (clientAddress != null && params.getLoginRateLimitAddressMaxAttempts() > 0) {
+            long retryAfter = store.tryAcquire("address:" + clientAddress, params.getLoginRateLimitAddressMaxAttempts(), windowMillis, now);
+            if (retryAfter > 0) {
+                addressRejectedCounter.increment();
+                log.warn("Login attempts from {} exceeded the rate limit", clientAddress);
+                throw rejected(retryAfter);
+            }
+        }
+
+        if (username != null && params.getLoginRateLimitUsernameMaxAttempts() > 0) {
+            long retryAfter = store.tryAcquire("username:" + username.toLowerCase(), params.getLoginRateLimitUsernameMaxAttempts(), windowMillis, now);
+            if (retryAfter > 0) {
+                usernameRejectedCounter.increment();
+                log.warn("Login attempts for player {} exceeded the rate limit", username);
+                throw rejected(retryAfter);
+            }
+        }
+    }
+
+    private static LoginRateLimitExceededException rejected(long retryAfterMillis) {
+        return new LoginRateLimitExceededException("Too many login attempts, please retry later",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999)));
+    }
+
+}
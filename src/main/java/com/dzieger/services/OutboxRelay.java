@@ -0,0 +1,197 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.OutboxEvent;
+import com.dzieger.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes pending outbox events in batches, off the request path.
+ * <p>
+ * A batch is claimed in one short transaction, which locks the due rows and leases them by pushing
+ * {@code next_attempt_at} past the time the publish may take, so other relay instances skip them. The events are then
+ * published with no transaction or pooled connection held, waiting at most {@code outbox.relay.publish-timeout-ms},
+ * and a second short transaction deletes the acknowledged ones and reschedules the rest with exponential backoff.
+ * A relay that dies mid-batch leaves its rows to be picked up again once the lease runs out. Delivery is at least
+ * once: consumers should treat the event id as an idempotency key.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long DEFAULT_PUBLISH_TIMEOUT_MS = 5000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final PlayerEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Parameters params;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer publishSuccessTimer;
+    private final Timer publishFailureTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, PlayerEventPublisher publisher,
+                       PlatformTransactionManager transactionManager, Parameters params, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.params = params;
+
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events delivered by the relay")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Outbox event deliveries that failed and were rescheduled")
+                .register(meterRegistry);
+        this.publishSuccessTimer = Timer.builder("outbox.publish")
+                .description("Time from handing an event to the transport until it is acknowledged or fails")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.publishFailureTimer = Timer.builder("outbox.publish")
+                .description("Time from handing an event to the transport until it is acknowledged or fails")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        // Keep draining while batches come back full, so a backlog does not wait one interval per batch
+        int processed;
+        do {
+            processed = publishBatch();
+        } while (processed > 0 && processed >= params.getOutboxRelayBatchSize());
+    }
+
+    int publishBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            deliveries.add(publish(event));
+        }
+        awaitAll(deliveries);
+
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(events, deliveries));
+        return events.size();
+    }
+
+    // Row locks (SKIP LOCKED) are only held until this transaction commits; the lease keeps the rows claimed after that
+    private List<OutboxEvent> claimBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueForPublishing(
+                now, PageRequest.of(0, params.getOutboxRelayBatchSize()));
+        Instant leasedUntil = now.plus(leaseDuration());
+        for (OutboxEvent event : events) {
+            event.lease(leasedUntil);
+        }
+        return events;
+    }
+
+    private void recordOutcomes(List<OutboxEvent> events, List<CompletableFuture<Void>> deliveries) {
+        List<OutboxEvent> published = new ArrayList<>(events.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            String error = failureOf(deliveries.get(i));
+            if (error == null) {
+                published.add(event);
+            } else {
+                Instant nextAttemptAt = Instant.now().plus(backoff(event.getAttempts()));
+                log.warn("Failed to publish outbox event {} (attempt {}), retrying at {}: {}", event.getId(), event.getAttempts() + 1, nextAttemptAt, error);
+                event.recordFailure(error, nextAttemptAt);
+                failed.add(event);
+                failedCounter.increment();
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(published);
+        }
+        if (!failed.isEmpty()) {
+            outboxEventRepository.saveAll(failed);
+        }
+        publishedCounter.increment(published.size());
+        log.debug("Outbox relay published {} of {} events", published.size(), events.size());
+    }
+
+    private CompletableFuture<Void> publish(OutboxEvent event) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> delivery;
+        try {
+            delivery = publisher.publish(event);
+        } catch (RuntimeException e) {
+            delivery = CompletableFuture.failedFuture(e);
+        }
+        delivery.whenComplete((ignored, error) -> (error == null ? publishSuccessTimer : publishFailureTimer)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        return delivery;
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> deliveries) {
+        try {
+            CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]))
+                    .get(params.getOutboxRelayPublishTimeoutMs() > 0 ? params.getOutboxRelayPublishTimeoutMs() : DEFAULT_PUBLISH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Individual outcomes are inspected per event
+        }
+    }
+
+    // Null when the delivery succeeded, otherwise a description of why it did not
+    private static String failureOf(CompletableFuture<Void> delivery) {
+        if (!delivery.isDone()) {
+            return "Timed out waiting for acknowledgement";
+        }
+        try {
+            delivery.getNow(null);
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        } catch (CancellationException e) {
+            return "Cancelled";
+        }
+    }
+
+    // Long enough to cover the publish wait with room to record the outcomes
+    Duration leaseDuration() {
+        long publishTimeout = params.getOutboxRelayPublishTimeoutMs() > 0 ? params.getOutboxRelayPublishTimeoutMs() : DEFAULT_PUBLISH_TIMEOUT_MS;
+        return Duration.ofMillis(Math.max(params.getOutboxRelayLeaseMs(), 2 * publishTimeout));
+    }
+
+    Duration backoff(int attempts) {
+        long initial = params.getOutboxRelayInitialBackoffMs();
+        long max = params.getOutboxRelayMaxBackoffMs();
+        long delay = initial << Math.min(attempts, 20);
+        return Duration.ofMillis(Math.min(Math.max(delay, initial), max));
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.PlayerDetails;
+import com.dzieger.repositories.PlayerRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Size-bounded, TTL-expiring read-through cache of {@link PlayerDetails} keyed by lowercase username.
+ * Only players that exist are cached; unknown usernames always fall through to the repository.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters with {@code cache=players}.
+ * <p>
+ * Local changes invalidate their entry directly. Changes made on other nodes are found by polling
+ * {@code players.updated_at}, so a changed password or role stops being served from here within one poll interval
+ * rather than at the end of the TTL.
+ */
+@Component
+public class PlayerDetailsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerDetailsCache.class);
+
+    static final String CACHE_NAME = "players";
+
+    private final PlayerRepository playerRepository;
+    private final Parameters params;
+    private final LoadingCache<String, PlayerDetails> cache;
+
+    // Nothing is cached yet, so changes made before this instant cannot be stale here
+    private volatile Instant pollCursor = Instant.now();
+
+    public PlayerDetailsCache(PlayerRepository playerRepository, Parameters params, MeterRegistry meterRegistry) {
+        log.info("Initializing PlayerDetailsCache");
+        this.playerRepository = playerRepository;
+        this.params = params;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(params.getPlayerCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(params.getPlayerCacheTtlSeconds()))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    private PlayerDetails load(String username) {
+        log.debug("Player cache miss: {}", username);
+        // Returning null leaves the key uncached
+        return playerRepository.findDetailsByUsername(username)
+                .orElse(null);
+    }
+
+    public Optional<PlayerDetails> get(String username) {
+        return Optional.ofNullable(cache.get(key(username)));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(key(username));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Drops players changed on any node since the last poll. The window reaches back by the configured overlap so rows
+     * committed late, or stamped by a node whose clock runs behind, are not missed; an entry loaded from a row that
+     * was about to change is dropped again by a later poll.
+     */
+    @Scheduled(fixedDelayString = "${player-cache.poll-interval-ms:2000}", initialDelayString = "${player-cache.poll-interval-ms:2000}")
+    public void poll() {
+        Instant now = Instant.now();
+        List<String> updated = playerRepository.findUsernamesUpdatedSince(pollCursor.minusMillis(params.getPlayerCachePollOverlapMs()));
+        if (!updated.isEmpty()) {
+            log.debug("Invalidating {} players changed since the last poll", updated.size());
+            cache.invalidateAll(updated.stream().map(PlayerDetailsCache::key).toList());
+        }
+        pollCursor = now;
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+}
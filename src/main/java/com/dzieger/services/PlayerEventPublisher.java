@@ -0,0 +1,15 @@
+package com.dzieger.services;
+
+import com.dzieger.models.OutboxEvent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers outbox events to other services. The transport is selected with {@code outbox.transport}
+ * ({@code http} or {@code kafka}); the returned future completes once the event has been accepted.
+ */
+public interface PlayerEventPublisher {
+
+    CompletableFuture<Void> publish(OutboxEvent event);
+
+}
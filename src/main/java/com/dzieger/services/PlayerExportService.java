@@ -0,0 +1,103 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.OutgoingPlayerDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads the players table page by page for export, without a persistence context.
+ * <p>
+ * Pages are fetched by keyset ({@code id > last id, order by id}), so every page is an index range scan however deep
+ * the export goes, and only one page is held in memory at a time. A caller resumes an interrupted export by passing
+ * the last id it received as {@code after}. With {@code since}, only players whose exported fields changed at or
+ * after that instant are returned; players from before the {@code updated_at} column existed only appear in a full
+ * export. Consecutive incremental exports overlap (see {@link #asOf()}), so consumers must apply players idempotently,
+ * keyed by id.
+ */
+@Service
+public class PlayerExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerExportService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private static final String SELECT_PAGE =
+            "select id, first_name, username, role from players where id > ? order by id limit ?";
+    private static final String SELECT_PAGE_SINCE =
+            "select id, first_name, username, role from players where id > ? and updated_at >= ? order by id limit ?";
+    private static final String SELECT_FIRST_PAGE =
+            "select id, first_name, username, role from players order by id limit ?";
+    private static final String SELECT_FIRST_PAGE_SINCE =
+            "select id, first_name, username, role from players where updated_at >= ? order by id limit ?";
+
+    private static final RowMapper<OutgoingPlayerDTO> ROW_MAPPER = (rs, rowNum) -> new OutgoingPlayerDTO(
+            rs.getObject("id", UUID.class),
+            rs.getString("first_name"),
+            rs.getString("username"),
+            rs.getString("role"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Parameters params;
+
+    public PlayerExportService(JdbcTemplate jdbcTemplate, Parameters params) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.params = params;
+    }
+
+    /**
+     * The {@code since} value for the next incremental export. It reaches back by the configured overlap so rows
+     * committed late, or stamped by a node whose clock runs behind, are not missed; players changed inside the overlap
+     * are exported again.
+     */
+    public Instant asOf() {
+        return Instant.now().minusMillis(params.getPlayerExportAsOfOverlapMs());
+    }
+
+    /**
+     * Hands each page to {@code sink} in id order until the table is exhausted.
+     *
+     * @param after exclusive lower bound on the player id, or null to start from the beginning
+     * @param since only players updated at or after this instant, or null for all
+     * @return the number of players exported
+     */
+    public long export(UUID after, Instant since, Consumer<List<OutgoingPlayerDTO>> sink) {
+        int pageSize = params.getPlayerExportPageSize() > 0 ? params.getPlayerExportPageSize() : DEFAULT_PAGE_SIZE;
+
+        long exported = 0;
+        UUID cursor = after;
+        List<OutgoingPlayerDTO> page;
+        do {
+            page = fetchPage(cursor, since, pageSize);
+            if (!page.isEmpty()) {
+                sink.accept(page);
+                exported += page.size();
+                cursor = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+
+        log.info("Exported {} players (after {}, since {})", exported, after, since);
+        return exported;
+    }
+
+    private List<OutgoingPlayerDTO> fetchPage(UUID after, Instant since, int pageSize) {
+        if (after == null) {
+            return since == null
+                    ? jdbcTemplate.query(SELECT_FIRST_PAGE, ROW_MAPPER, pageSize)
+                    : jdbcTemplate.query(SELECT_FIRST_PAGE_SINCE, ROW_MAPPER, Timestamp.from(since), pageSize);
+        }
+        return since == null
+                ? jdbcTemplate.query(SELECT_PAGE, ROW_MAPPER, after, pageSize)
+                : jdbcTemplate.query(SELECT_PAGE_SINCE, ROW_MAPPER, after, Timestamp.from(since), pageSize);
+    }
+
+}
@@ -0,0 +1,318 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.AccountEventDTO;
+import com.dzieger.dtos.PlayerImportResultDTO;
+import com.dzieger.dtos.PlayerRegisteredEventDTO;
+import com.dzieger.dtos.RegisterDTO;
+import com.dzieger.exceptions.HashingCapacityExceededException;
+import com.dzieger.models.OutboxEvent;
+import com.dzieger.models.enums.Role;
+import com.dzieger.repositories.PlayerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Imports players in bulk from NDJSON, one {@link RegisterDTO} per line.
+ * <p>
+ * Lines are processed in batches. Each batch is validated with the same constraints as {@code /auth/register},
+ * checked for duplicates within the batch and against the {@code players} table with one query per column, hashed
+ * in parallel on the shared password hashing pool, and written with JDBC batch inserts together with the
+ * {@code PlayerRegistered} outbox events, in one transaction. Imported players are provisioned by the outbox relay
+ * and announced on the account event stream exactly like registered ones.
+ * <p>
+ * Hashes are submitted by a small pool of {@code player-import.hashing-concurrency} threads shared by all imports.
+ * Each thread waits for its hash before taking the next row, so imports together never hold more than that many slots
+ * of the hashing pool, and the remaining workers and queue stay available to interactive logins and registrations.
+ */
+@Service
+public class PlayerImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerImportService.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String INSERT_PLAYER =
+            "insert into players (id, first_name, username, email, password, role, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OUTBOX_EVENT =
+            "insert into outbox_events (id, aggregate_id, event_type, payload, created_at, next_attempt_at, attempts) values (?, ?, ?, ?, ?, ?, 0)";
+
+    private final PlayerRepository playerRepository;
+    private final RegisteredUsernames registeredUsernames;
+    private final AccountEventPublisher accountEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Parameters params;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor hashingExecutor;
+
+    public PlayerImportService(PlayerRepository playerRepository, RegisteredUsernames registeredUsernames, AccountEventPublisher accountEventPublisher,
+                               JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, PasswordEncoder passwordEncoder,
+                               Validator validator, ObjectMapper objectMapper, Parameters params, MeterRegistry meterRegistry) {
+        this.playerRepository = playerRepository;
+        this.registeredUsernames = registeredUsernames;
+        this.accountEventPublisher = accountEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.params = params;
+        this.meterRegistry = meterRegistry;
+
+        int hashingThreads = params.getPasswordHashingThreads() > 0
+                ? params.getPasswordHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+        int concurrency = params.getPlayerImportHashingConcurrency() > 0
+                ? params.getPlayerImportHashingConcurrency()
+                : Math.max(1, hashingThreads / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("player-import-hash-");
+        threadFactory.setDaemon(true);
+        // Unbounded queue: each import waits for its own batch, so it holds at most one batch of rows at a time
+        this.hashingExecutor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    /**
+     * Reads NDJSON lines until the end of input, handing each batch's results to {@code sink} in line order once the
+     * batch has been committed. Blank lines are skipped but still counted for line numbers.
+     */
+    public void importPlayers(BufferedReader reader, Consumer<List<PlayerImportResultDTO>> sink) throws IOException {
+        int batchSize = params.getPlayerImportBatchSize() > 0 ? params.getPlayerImportBatchSize() : DEFAULT_BATCH_SIZE;
+
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.add(parse(lineNumber, line));
+            if (batch.size() == batchSize) {
+                sink.accept(importBatch(batch));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(importBatch(batch));
+        }
+        log.info("Player import finished after {} lines", lineNumber);
+    }
+
+    List<PlayerImportResultDTO> importBatch(List<ImportRow> rows) {
+        List<ImportRow> candidates = new ArrayList<>(rows.size());
+        Set<String> batchUsernames = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.status != null) {
+                continue;
+            }
+            Set<ConstraintViolation<RegisterDTO>> violations = validator.validate(row.registerDTO);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                row.fail(PlayerImportResultDTO.INVALID, errors);
+                continue;
+            }
+
+            row.username = row.registerDTO.getUsername().toLowerCase();
+            row.email = row.registerDTO.getEmail().toLowerCase();
+            if (!batchUsernames.add(row.username)) {
+                row.fail(PlayerImportResultDTO.DUPLICATE_USERNAME, null);
+            } else if (!batchEmails.add(row.email)) {
+                row.fail(PlayerImportResultDTO.DUPLICATE_EMAIL, null);
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> existingUsernames = new HashSet<>(playerRepository.findExistingUsernames(batchUsernames));
+            Set<String> existingEmails = new HashSet<>(playerRepository.findExistingEmails(batchEmails));
+            candidates.removeIf(row -> {
+                if (existingUsernames.contains(row.username)) {
+                    row.fail(PlayerImportResultDTO.DUPLICATE_USERNAME, null);
+                    return true;
+                }
+                if (existingEmails.contains(row.email)) {
+                    row.fail(PlayerImportResultDTO.DUPLICATE_EMAIL, null);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        CompletableFuture.allOf(candidates.stream()
+                .map(row -> CompletableFuture.runAsync(() -> hash(row), hashingExecutor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+        candidates.removeIf(row -> row.status != null);
+
+        if (!candidates.isEmpty()) {
+            insert(candidates);
+        }
+
+        List<PlayerImportResultDTO> results = new ArrayList<>(rows.size());
+        rows.sort(Comparator.comparingInt(row -> row.line));
+        for (ImportRow row : rows) {
+            if (PlayerImportResultDTO.CREATED.equals(row.status)) {
+                registeredUsernames.add(row.username);
+                accountEventPublisher.publish(AccountEventDTO.REGISTERED, row.id, row.username, Role.PLAYER.toString());
+            }
+            count(row.status);
+            results.add(new PlayerImportResultDTO(row.line, row.username != null ? row.username : usernameOf(row), row.status, row.errors));
+        }
+        return results;
+    }
+
+    private void hash(ImportRow row) {
+        try {
+            row.passwordHash = passwordEncoder.encode(row.registerDTO.getPassword());
+        } catch (HashingCapacityExceededException e) {
+            // Interactive traffic has the pool full; the caller resubmits these rows later
+            row.fail(PlayerImportResultDTO.RETRY, null);
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        Instant now = Instant.now();
+        rows.forEach(row -> row.id = UUID.randomUUID());
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(rows, now));
+            rows.forEach(row -> row.status = PlayerImportResultDTO.CREATED);
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these names since the duplicate check; find out which rows, one at a time
+            log.info("Batch insert hit a unique constraint, retrying {} rows individually", rows.size());
+            for (ImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(List.of(row), now));
+                    row.status = PlayerImportResultDTO.CREATED;
+                } catch (DataIntegrityViolationException rowException) {
+                    row.status = playerRepository.findExistingUsernames(List.of(row.username)).isEmpty()
+                            ? PlayerImportResultDTO.DUPLICATE_EMAIL
+                            : PlayerImportResultDTO.DUPLICATE_USERNAME;
+                }
+            }
+        }
+    }
+
+    private void insertRows(List<ImportRow> rows, Instant now) {
+        Timestamp createdAt = Timestamp.from(now);
+        String role = Role.PLAYER.toString();
+
+        jdbcTemplate.batchUpdate(INSERT_PLAYER, rows, rows.size(), (statement, row) -> {
+            statement.setObject(1, row.id);
+            statement.setString(2, PlayerService.toTitleCase(row.registerDTO.getFirstName()));
+            statement.setString(3, row.username);
+            statement.setString(4, row.email);
+            statement.setString(5, row.passwordHash);
+            statement.setString(6, role);
+            statement.setTimestamp(7, createdAt);
+            statement.setTimestamp(8, createdAt);
+        });
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_EVENT, rows, rows.size(), (statement, row) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setObject(2, row.id);
+            statement.setString(3, OutboxEvent.PLAYER_REGISTERED);
+            statement.setString(4, toJson(new PlayerRegisteredEventDTO(row.id, row.username, role)));
+            statement.setTimestamp(5, createdAt);
+            statement.setTimestamp(6, createdAt);
+        });
+    }
+
+    private ImportRow parse(int lineNumber, String line) {
+        ImportRow row = new ImportRow(lineNumber);
+        try {
+            row.registerDTO = objectMapper.readValue(line, RegisterDTO.class);
+            if (row.registerDTO == null) {
+                row.fail(PlayerImportResultDTO.INVALID, Map.of("line", "Expected a JSON object"));
+            }
+        } catch (JsonProcessingException e) {
+            row.fail(PlayerImportResultDTO.INVALID, Map.of("line", "Malformed JSON: " + e.getOriginalMessage()));
+        }
+        return row;
+    }
+
+    private String toJson(PlayerRegisteredEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize player registered event", e);
+        }
+    }
+
+    private static String usernameOf(ImportRow row) {
+        return row.registerDTO != null ? row.registerDTO.getUsername() : null;
+    }
+
+    private void count(String status) {
+        Counter.builder("players.import.rows")
+                .description("Bulk import rows by outcome")
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static final class ImportRow {
+
+        final int line;
+        RegisterDTO registerDTO;
+        String username;
+        String email;
+        String passwordHash;
+        UUID id;
+        String status;
+        Map<String, String> errors;
+
+        ImportRow(int line) {
+            this.line = line;
+        }
+
+        void fail(String status, Map<String, String> errors) {
+            this.status = status;
+            this.errors = errors;
+        }
+    }
+
+}
@@ -1,80 +1,109 @@
 package com.dzieger.services;
 
 import com.dzieger.SecurityConfig.JwtUtil;
-import com.dzieger.config.Parameters;
+import com.dzieger.dtos.AccountEventDTO;
 import com.dzieger.dtos.LoginDTO;
 import com.dzieger.dtos.OutgoingAuthenticatedPlayerDTO;
 import com.dzieger.dtos.OutgoingPlayerDTO;
+import com.dzieger.dtos.PlayerRegisteredEventDTO;
 import com.dzieger.dtos.RegisterDTO;
 import com.dzieger.exceptions.DuplicateEmailException;
 import com.dzieger.exceptions.DuplicateUsernameException;
+import com.dzieger.models.OutboxEvent;
 import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
 import com.dzieger.models.enums.Role;
+import com.dzieger.repositories.OutboxEventRepository;
 import com.dzieger.repositories.PlayerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 public class PlayerService {
 
     private static final Logger log = LoggerFactory.getLogger(PlayerService.class);
 
-    private String PLAYER_SERVICE_URL;
+    // Column references in constraint violation messages, e.g. "Key (email)=(...)" or "PLAYERS(EMAIL NULLS FIRST)"
+    private static final Pattern EMAIL_COLUMN = Pattern.compile("\\(\\s*email\\b");
+    private static final Pattern USERNAME_COLUMN = Pattern.compile("\\(\\s*username\\b");
 
     private final PlayerRepository playerRepository;
-    private final RestTemplate restTemplate;
-    private final Parameters params;
+    private final PlayerDetailsCache playerDetailsCache;
+    private final RegisteredUsernames registeredUsernames;
+    private final OutboxEventRepository outboxEventRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AccountEventPublisher accountEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
 
-    public PlayerService(PlayerRepository playerRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, RestTemplate restTemplate, Parameters params) {
+    // Checked against when the username is unknown, so that path does the same hashing work as a wrong password
+    private String dummyPasswordHash;
+
+    public PlayerService(PlayerRepository playerRepository, PlayerDetailsCache playerDetailsCache, RegisteredUsernames registeredUsernames, OutboxEventRepository outboxEventRepository, RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService, AccountEventPublisher accountEventPublisher, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
         this.playerRepository = playerRepository;
+        this.playerDetailsCache = playerDetailsCache;
+        this.registeredUsernames = registeredUsernames;
+        this.outboxEventRepository = outboxEventRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.accountEventPublisher = accountEventPublisher;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
-        this.restTemplate = restTemplate;
-        this.params = params;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @PostConstruct
     public void init() {
+        dummyPasswordHash = passwordEncoder.encode(UUID.randomUUID().toString());
         log.info("PlayerService initialized");
-
-        // TODO: Store this as a parameter
-        PLAYER_SERVICE_URL = "http://localhost:8081";
     }
 
 
     public OutgoingPlayerDTO register(RegisterDTO registerDTO) {
         log.info("Registering new player: {}", registerDTO.getUsername());
 
-        checkDuplicateUsername(registerDTO.getUsername().toLowerCase());
-        checkDuplicateEmail(registerDTO.getEmail().toLowerCase());
-
-        // Create new player and persist to DB
+        // Hash before the transaction starts so no pooled connection is held while BCrypt runs
         Player player = new Player();
         player.setFirstName(toTitleCase(registerDTO.getFirstName()));
         player.setUsername(registerDTO.getUsername().toLowerCase());
         player.setEmail(registerDTO.getEmail().toLowerCase());
         player.setPassword(passwordEncoder.encode(registerDTO.getPassword()));
         player.setRole(Role.PLAYER);
-        playerRepository.save(player);
 
-        // Send to Player Service microservice to create player profile
-        createPlayerProfile(player.getId());
+        // Player row and outbox event commit together; profile creation in the Player Service happens asynchronously.
+        // Duplicates are caught by the unique constraints on insert
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                playerRepository.saveAndFlush(player);
+            } catch (DataIntegrityViolationException e) {
+                throw toDuplicateException(e);
+            }
+            recordPlayerRegistered(player);
+        });
+        playerDetailsCache.invalidate(player.getUsername());
+        accountEventPublisher.publish(AccountEventDTO.REGISTERED, player.getId(), player.getUsername(), player.getRole());
 
         OutgoingPlayerDTO outgoingPlayerDTO = new OutgoingPlayerDTO();
         outgoingPlayerDTO.setFirstName(player.getFirstName());
@@ -84,20 +113,32 @@ public class PlayerService {
         return outgoingPlayerDTO;
     }
 
-    private void checkDuplicateUsername(String username) {
-        log.info("Checking for duplicate username: {}", username);
-
-        if (playerRepository.findByUsername(username).isPresent()) {
-            throw new DuplicateUsernameException("Username already exists");
+    private RuntimeException toDuplicateException(DataIntegrityViolationException e) {
+        String constraintName = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException constraintViolation) {
+                constraintName = constraintViolation.getConstraintName();
+                break;
+            }
         }
-    }
-
-    private void checkDuplicateEmail(String email) {
-        log.info("Checking for duplicate email");
 
-        if (playerRepository.findByEmail(email).isPresent()) {
-            throw new DuplicateEmailException("Email already exists");
+        // A named constraint is trusted only when the name mentions the column; generated names such as UK6x... do not,
+        // so those fall back to the column reference in the driver's message
+        String constraint = constraintName == null ? "" : constraintName.toLowerCase();
+        boolean emailConstraint = constraint.contains("email");
+        boolean usernameConstraint = constraint.contains("username");
+        boolean identified = emailConstraint || usernameConstraint;
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+
+        if (emailConstraint || (!identified && EMAIL_COLUMN.matcher(message).find())) {
+            log.info("Duplicate email on registration");
+            return new DuplicateEmailException("Email already exists", e);
         }
+        if (usernameConstraint || (!identified && USERNAME_COLUMN.matcher(message).find())) {
+            log.info("Duplicate username on registration");
+            return new DuplicateUsernameException("Username already exists", e);
+        }
+        return e;
     }
 
     public static String toTitleCase(String input) {
@@ -111,45 +152,136 @@ public class PlayerService {
     public OutgoingAuthenticatedPlayerDTO login(LoginDTO loginDTO) {
         log.info("Logging in player: {}", loginDTO.getUsername());
 
-        if (playerRepository.findByUsername(loginDTO.getUsername().toLowerCase()).isPresent()) {
-            Player player = playerRepository.findByUsername(loginDTO.getUsername().toLowerCase()).orElseThrow(() ->
-                    new UsernameNotFoundException("Player not found"));
-            if (passwordEncoder.matches(loginDTO.getPassword(), player.getPassword())) {
-                List<String> authorities = new ArrayList<>();
-                authorities.add(player.getRole());
-                authorities.add(player.getUsername());
-
-                OutgoingAuthenticatedPlayerDTO outgoingAuthenticatedPlayerDTO = new OutgoingAuthenticatedPlayerDTO();
-                outgoingAuthenticatedPlayerDTO.setFirstName(player.getFirstName());
-                outgoingAuthenticatedPlayerDTO.setUsername(player.getUsername());
-                outgoingAuthenticatedPlayerDTO.setRole(player.getRole());
-                outgoingAuthenticatedPlayerDTO.setToken(jwtUtil.generateToken(player, authorities));
-                return outgoingAuthenticatedPlayerDTO;
-            } else {
-                throw new BadCredentialsException("Invalid username or password");
+        String username = loginDTO.getUsername().toLowerCase();
+        Optional<PlayerDetails> found = registeredUsernames.mightExist(username)
+                ? playerDetailsCache.get(username)
+                : Optional.empty();
+        if (found.isEmpty()) {
+            // Same BCrypt work, on the same bounded pool, and the same error as a wrong password: neither the response
+            // time nor the status reveals whether the account exists
+            if (dummyPasswordHash != null) {
+                passwordEncoder.matches(loginDTO.getPassword(), dummyPasswordHash);
             }
+            throw new BadCredentialsException("Invalid username or password");
         }
+        PlayerDetails player = found.get();
+
+        if (passwordEncoder.matches(loginDTO.getPassword(), player.getPassword())) {
+            if (passwordEncoder.upgradeEncoding(player.getPassword())) {
+                upgradePasswordHash(player, loginDTO.getPassword());
+            }
+            accountEventPublisher.publish(AccountEventDTO.LOGGED_IN, player.getId(), player.getUsername(), player.getRole());
 
-        throw new UsernameNotFoundException("Player not found");
+            return authenticated(player, refreshTokenService.issue(player.getId(), player.getUsername()));
+        }
+
+        throw new BadCredentialsException("Invalid username or password");
     }
 
-    // Rest Template request to Player Service
-    private void createPlayerProfile(UUID playerId) {
-        log.info("Creating player profile for player: {}", playerId);
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token, without a password check.
+     */
+    public OutgoingAuthenticatedPlayerDTO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        log.info("Refreshed tokens for player: {}", rotation.player().getUsername());
+        return authenticated(rotation.player(), rotation.refreshToken());
+    }
 
-        String url = PLAYER_SERVICE_URL + "/api/v1/player/v1/profile";
+    /**
+     * Revokes the caller's access token and, when given, the refresh token family it came with.
+     */
+    public void logout(String tokenId, Instant expiresAt, String refreshToken) {
+        tokenRevocationService.revoke(tokenId, expiresAt);
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    /**
+     * Replaces the player's password after checking the current one, then signs the player out everywhere: every
+     * refresh token family is revoked, and so is the access token the change was made with. Other access tokens stay
+     * valid until they expire.
+     * <p>
+     * The current password is checked against the stored row, never the cache. The new hash and the revocations commit
+     * together, so a failure cannot leave the password changed while the old sessions live on.
+     */
+    public void changePassword(UUID playerId, String tokenId, Instant expiresAt, String currentPassword, String newPassword) {
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new UsernameNotFoundException("Player not found"));
+        log.info("Changing password for player: {}", player.getUsername());
+
+        if (!passwordEncoder.matches(currentPassword, player.getPassword())) {
+            throw new BadCredentialsException("Invalid username or password");
+        }
+
+        // Hash before the transaction starts so no pooled connection is held while BCrypt runs
+        String newPasswordHash = passwordEncoder.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            playerRepository.updatePassword(player.getId(), newPasswordHash, Instant.now());
+            refreshTokenService.revokeAllFor(player.getId());
+            tokenRevocationService.revoke(tokenId, expiresAt);
+        });
+        playerDetailsCache.invalidate(player.getUsername());
+        accountEventPublisher.publish(AccountEventDTO.PASSWORD_CHANGED, player.getId(), player.getUsername(), player.getRole());
+    }
+
+    /**
+     * Sets the player's role. When a privileged role is taken away, the player's refresh tokens are revoked in the same
+     * transaction so no session outlives it; access tokens already issued keep the old role until they expire.
+     */
+    public OutgoingPlayerDTO changeRole(UUID playerId, Role role) {
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new UsernameNotFoundException("Player not found"));
+        log.info("Changing role for player {} from {} to {}", player.getUsername(), player.getRole(), role);
+
+        boolean privilegeRemoved = !Role.PLAYER.toString().equals(player.getRole()) && !role.toString().equals(player.getRole());
+        player.setRole(role);
+        transactionTemplate.executeWithoutResult(status -> {
+            playerRepository.save(player);
+            if (privilegeRemoved) {
+                refreshTokenService.revokeAllFor(player.getId());
+            }
+        });
+        playerDetailsCache.invalidate(player.getUsername());
+        accountEventPublisher.publish(AccountEventDTO.ROLE_CHANGED, player.getId(), player.getUsername(), player.getRole());
 
-        Player player = playerRepository.findById(playerId).orElseThrow(() -> new UsernameNotFoundException("Player not found"));
+        return new OutgoingPlayerDTO(player.getId(), player.getFirstName(), player.getUsername(), player.getRole());
+    }
+
+    private OutgoingAuthenticatedPlayerDTO authenticated(PlayerDetails player, String refreshToken) {
         List<String> authorities = new ArrayList<>();
         authorities.add(player.getRole());
+        authorities.add(player.getUsername());
+
+        OutgoingAuthenticatedPlayerDTO outgoingAuthenticatedPlayerDTO = new OutgoingAuthenticatedPlayerDTO();
+        outgoingAuthenticatedPlayerDTO.setFirstName(player.getFirstName());
+        outgoingAuthenticatedPlayerDTO.setUsername(player.getUsername());
+        outgoingAuthenticatedPlayerDTO.setRole(player.getRole());
+        outgoingAuthenticatedPlayerDTO.setToken(jwtUtil.generateToken(player.getId(), player.getUsername(), authorities));
+        outgoingAuthenticatedPlayerDTO.setRefreshToken(refreshToken);
+        return outgoingAuthenticatedPlayerDTO;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(jwtUtil.generateToken(player, authorities));
-
-        HttpEntity<Map<String, UUID>> request = new HttpEntity<>(Map.of("playerId", playerId), headers);
+    // Re-hash with the current cost factor while the plain password is at hand
+    private void upgradePasswordHash(PlayerDetails player, String rawPassword) {
+        log.info("Upgrading password hash for player: {}", player.getUsername());
 
-        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+        try {
+            playerRepository.updatePassword(player.getId(), passwordEncoder.encode(rawPassword), Instant.now());
+            playerDetailsCache.invalidate(player.getUsername());
+        } catch (RuntimeException e) {
+            // The login itself succeeded; the upgrade is retried on the next one
+            log.warn("Failed to upgrade password hash for player: {}", player.getUsername(), e);
+        }
+    }
 
-        log.info("Player profile created successfully: {}", response.getBody());
+    // Written in the registration transaction; the outbox relay provisions the player profile afterwards
+    private void recordPlayerRegistered(Player player) {
+        PlayerRegisteredEventDTO event = new PlayerRegisteredEventDTO(player.getId(), player.getUsername(), player.getRole());
+        try {
+            outboxEventRepository.save(new OutboxEvent(player.getId(), OutboxEvent.PLAYER_REGISTERED, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize player registered event", e);
+        }
     }
 }
@@ -0,0 +1,145 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.PlayerDetails;
+import com.dzieger.models.RefreshToken;
+import com.dzieger.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>
+ * Tokens are 256 random bits, so a plain SHA-256 is enough to store them safely and lets a refresh find its row with
+ * one indexed lookup. Each refresh marks the presented token used and issues a successor in the same family; if a
+ * used token is presented again, someone is replaying a stolen token and the whole family is revoked.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    // One message for every failure, so callers cannot probe which tokens exist
+    private static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PlayerDetailsCache playerDetailsCache;
+    private final Parameters params;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Counter reuseCounter;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, PlayerDetailsCache playerDetailsCache, Parameters params, MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.playerDetailsCache = playerDetailsCache;
+        this.params = params;
+        this.reuseCounter = Counter.builder("auth.refresh.reuse")
+                .description("Refresh tokens presented after they had already been rotated")
+                .register(meterRegistry);
+    }
+
+    public record Rotation(PlayerDetails player, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(UUID playerId, String username) {
+        return issue(playerId, username, UUID.randomUUID(), Instant.now());
+    }
+
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException(INVALID_REFRESH_TOKEN));
+
+        if (stored.getRevokedAt() != null) {
+            log.info("Revoked refresh token presented for player: {}", stored.getUsername());
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        if (stored.getUsedAt() != null) {
+            log.warn("Refresh token reuse detected for player: {}, revoking token family {}", stored.getUsername(), stored.getFamilyId());
+            reuseCounter.increment();
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+
+        PlayerDetails player = playerDetailsCache.get(stored.getUsername())
+                .filter(details -> details.getId().equals(stored.getPlayerId()))
+                .orElse(null);
+        if (player == null) {
+            log.info("Refresh token belongs to a player that no longer exists: {}", stored.getUsername());
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+
+        stored.setUsedAt(now);
+        return new Rotation(player, issue(player.getId(), player.getUsername(), stored.getFamilyId(), now));
+    }
+
+    /**
+     * Revokes the family of the given token, ending every session descended from the same login. Unknown tokens are
+     * ignored so logout never reveals whether a token existed.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId(), Instant.now()));
+    }
+
+    /**
+     * Revokes every refresh token family of the player, ending all of their sessions at the next refresh.
+     */
+    @Transactional
+    public void revokeAllFor(UUID playerId) {
+        int revoked = refreshTokenRepository.revokePlayer(playerId, Instant.now());
+        if (revoked > 0) {
+            log.info("Revoked {} refresh tokens for player: {}", revoked, playerId);
+        }
+    }
+
+    private String issue(UUID playerId, String username, UUID familyId, Instant now) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, playerId, username, now,
+                now.plusSeconds(params.getRefreshTokenTtlSeconds())));
+        return rawToken;
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.cleanup-interval-ms:3600000}", initialDelayString = "${refresh-token.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    static String hash(String rawToken) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
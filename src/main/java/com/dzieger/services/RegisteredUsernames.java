@@ -0,0 +1,145 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.repositories.PlayerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter over every registered username, so a login for a name that was never registered is answered without
+ * a database query.
+ * <p>
+ * The filter is loaded from the {@code players} table at startup, updated on local registrations, and polls for
+ * players created on other nodes since its last poll, so a registration elsewhere becomes loginable here within one
+ * poll interval. It only ever answers "definitely absent" or "maybe present"; a maybe still goes to the database.
+ * Until the first load succeeds, and when disabled, every name is a maybe.
+ */
+@Service
+public class RegisteredUsernames {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredUsernames.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final int MIN_BLOOM_ENTRIES = 1024;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final PlayerRepository playerRepository;
+    private final Parameters params;
+
+    // Null until the first successful load
+    private volatile BloomFilter bloomFilter;
+    private volatile Instant pollCursor;
+    private final AtomicLong entries = new AtomicLong();
+
+    private final Counter skippedLookupCounter;
+
+    public RegisteredUsernames(PlayerRepository playerRepository, Parameters params, MeterRegistry meterRegistry) {
+        this.playerRepository = playerRepository;
+        this.params = params;
+        this.skippedLookupCounter = Counter.builder("auth.usernames.filter.skipped-lookups")
+                .description("Logins for unregistered usernames answered without a database query")
+                .register(meterRegistry);
+        Gauge.builder("auth.usernames.filter.entries", entries, AtomicLong::get)
+                .description("Usernames added to the registered-username filter")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!params.isUsernameFilterEnabled()) {
+            log.info("Registered-username filter disabled, every login looks the player up");
+            return;
+        }
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Could not load registered usernames at startup, retrying on the next poll", e);
+        }
+    }
+
+    /**
+     * False only when {@code username} (lower case) has definitely never been registered.
+     */
+    public boolean mightExist(String username) {
+        BloomFilter filter = bloomFilter;
+        if (filter == null || filter.mightContain(username)) {
+            return true;
+        }
+        skippedLookupCounter.increment();
+        return false;
+    }
+
+    public void add(String username) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(username)) {
+            filter.put(username);
+            entries.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds players created on other nodes. The window reaches back by the configured overlap so rows committed late,
+     * or stamped by a node whose clock runs behind, are not missed. Once the filter holds more names than it was
+     * sized for, its false positive rate climbs, so it is rebuilt from the table at twice the size.
+     */
+    @Scheduled(fixedDelayString = "${username-filter.poll-interval-ms:2000}", initialDelayString = "${username-filter.poll-interval-ms:2000}")
+    public void poll() {
+        if (!params.isUsernameFilterEnabled()) {
+            return;
+        }
+        BloomFilter filter = bloomFilter;
+        if (filter == null || entries.get() > filter.getExpectedEntries()) {
+            reload();
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<String> created = playerRepository.findUsernamesCreatedSince(pollCursor.minusMillis(params.getUsernameFilterPollOverlapMs()));
+        created.forEach(this::add);
+        pollCursor = now;
+    }
+
+    private void reload() {
+        // Anything committed after this instant is picked up again by the next poll
+        Instant startedAt = Instant.now();
+        BloomFilter filter = newBloomFilter(playerRepository.count() * 2);
+
+        long loaded = 0;
+        String after = "";
+        List<String> page;
+        do {
+            page = playerRepository.findUsernamesAfter(after, PageRequest.of(0, LOAD_PAGE_SIZE));
+            page.forEach(filter::put);
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        entries.set(loaded);
+        bloomFilter = filter;
+        pollCursor = startedAt;
+        log.info("Loaded {} registered usernames into a filter sized for {}", loaded, filter.getExpectedEntries());
+    }
+
+    private BloomFilter newBloomFilter(long minimumEntries) {
+        long expectedEntries = Math.max(Math.max(params.getUsernameFilterExpectedEntries(), MIN_BLOOM_ENTRIES), minimumEntries);
+        double falsePositiveRate = params.getUsernameFilterFalsePositiveRate() > 0 && params.getUsernameFilterFalsePositiveRate() < 1
+                ? params.getUsernameFilterFalsePositiveRate()
+                : DEFAULT_FALSE_POSITIVE_RATE;
+        return new BloomFilter((int) Math.min(expectedEntries, Integer.MAX_VALUE), falsePositiveRate);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.dzieger.services;
+
+import com.dzieger.models.Player;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Adds every player persisted through JPA to {@link RegisteredUsernames} on this node, whichever code path saved it.
+ * Looked up lazily because Hibernate creates entity listeners while the repositories the filter uses are still
+ * being built.
+ */
+public class RegisteredUsernamesListener {
+
+    private final ObjectProvider<RegisteredUsernames> registeredUsernames;
+
+    public RegisteredUsernamesListener(ObjectProvider<RegisteredUsernames> registeredUsernames) {
+        this.registeredUsernames = registeredUsernames;
+    }
+
+    @PostPersist
+    public void playerPersisted(Player player) {
+        registeredUsernames.ifAvailable(filter -> filter.add(player.getUsername()));
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.dzieger.services;
+
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.SecurityConfig.ValidatedToken;
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.IntrospectionResponseDTO;
+import com.dzieger.exceptions.jwt.JwtValidationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers RFC 7662 introspection requests from other services.
+ * <p>
+ * Gateways tend to introspect the same token on every request they forward, so each parse result is kept in a small
+ * per-node cache keyed by the SHA-256 of the token, which keeps bearer tokens themselves out of the heap. An entry
+ * lives for the configured TTL but never past the token's own expiry. A failed validation is only kept for the much
+ * shorter negative TTL: it may be transient, such as a {@code kid} this node has not loaded yet during key rotation,
+ * and a long-lived entry would report a good token inactive for the full TTL. Revocation is checked on every call, cached or
+ * not, so a logout is visible to introspecting services as soon as this node learns of it.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    static final String CACHE_NAME = "introspection";
+
+    private static final long DEFAULT_NEGATIVE_TTL_MS = 2000;
+
+    // Cached, briefly, for tokens that failed validation
+    private static final Introspection INVALID = new Introspection(null);
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final Cache<String, Introspection> cache;
+
+    public TokenIntrospectionService(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService, Parameters params, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        long ttlNanos = Duration.ofSeconds(params.getIntrospectionCacheTtlSeconds()).toNanos();
+        long negativeTtlNanos = Math.min(ttlNanos, Duration.ofMillis(params.getIntrospectionCacheNegativeTtlMs() > 0
+                ? params.getIntrospectionCacheNegativeTtlMs()
+                : DEFAULT_NEGATIVE_TTL_MS).toNanos());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(params.getIntrospectionCacheMaximumSize())
+                .expireAfter(new BoundedByTokenExpiry(ttlNanos, negativeTtlNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public IntrospectionResponseDTO introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return IntrospectionResponseDTO.inactive();
+        }
+        ValidatedToken validatedToken = cache.get(RefreshTokenService.hash(token), key -> validate(token)).token();
+
+        if (validatedToken == null
+                || validatedToken.getExpiration().getTime() <= System.currentTimeMillis()
+                || tokenRevocationService.isRevoked(validatedToken.getTokenId())) {
+            return IntrospectionResponseDTO.inactive();
+        }
+        return IntrospectionResponseDTO.active(validatedToken);
+    }
+
+    public List<IntrospectionResponseDTO> introspectAll(List<String> tokens) {
+        return tokens.stream()
+                .map(this::introspect)
+                .toList();
+    }
+
+    private Introspection validate(String token) {
+        try {
+            return new Introspection(jwtUtil.parseAndValidate(token));
+        } catch (JwtValidationException | IllegalArgumentException e) {
+            log.debug("Introspected token is not valid: {}", e.getMessage());
+            return INVALID;
+        }
+    }
+
+    private record Introspection(ValidatedToken token) {
+    }
+
+    private static final class BoundedByTokenExpiry implements Expiry<String, Introspection> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private BoundedByTokenExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Introspection value, long currentTime) {
+            if (value.token() == null) {
+                return negativeTtlNanos;
+            }
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(value.token().getExpiration().getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Introspection value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Introspection value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
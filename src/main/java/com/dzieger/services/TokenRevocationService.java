@@ -0,0 +1,174 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.RevokedToken;
+import com.dzieger.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for access tokens, keyed by their jti claim.
+ * <p>
+ * {@link #isRevoked(String)} runs on every authenticated request, so it never leaves the process: a Bloom filter
+ * answers the common "not revoked" case with a few array reads, and only a filter hit is confirmed against the exact
+ * set. Revocations are written to the {@code revoked_tokens} table and every node polls that table for rows revoked
+ * since its last poll, so a revocation reaches the whole cluster within one poll interval. Entries are dropped
+ * once the token they name has expired.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int MIN_BLOOM_ENTRIES = 1024;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Parameters params;
+
+    // Writers hold this lock so a rebuild cannot drop an entry added while it copies the exact set
+    private final Object writeLock = new Object();
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    // Null until the first successful load from the store
+    private volatile Instant pollCursor;
+
+    private final Counter revokedCounter;
+    private final Counter bloomFalsePositiveCounter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, Parameters params, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.params = params;
+        this.bloomFilter = newBloomFilter(0);
+        this.revokedCounter = Counter.builder("auth.tokens.revoked")
+                .description("Access tokens revoked on this node")
+                .register(meterRegistry);
+        this.bloomFalsePositiveCounter = Counter.builder("auth.tokens.revocation.bloom.false-positives")
+                .description("Revocation checks where the Bloom filter matched but the exact set did not")
+                .register(meterRegistry);
+        Gauge.builder("auth.tokens.revocation.entries", revoked, Map::size)
+                .description("Unexpired revoked tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            poll();
+        } catch (DataAccessException e) {
+            log.warn("Could not load revoked tokens at startup, retrying on the next poll", e);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        bloomFalsePositiveCounter.increment();
+        return false;
+    }
+
+    /**
+     * Revokes a token until {@code expiresAt}. Takes effect on this node immediately and on the others at their next poll.
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            log.debug("Token {} has no id or has already expired, nothing to revoke", tokenId);
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, now, expiresAt));
+        add(tokenId, expiresAt);
+        revokedCounter.increment();
+        log.info("Revoked token: {}", tokenId);
+    }
+
+    /**
+     * Picks up revocations made on other nodes and drops expired entries. The window reaches back by the configured
+     * overlap so rows committed late, or stamped by a node whose clock runs behind, are not missed.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.poll-interval-ms:5000}", initialDelayString = "${token-revocation.poll-interval-ms:5000}")
+    public void poll() {
+        Instant now = Instant.now();
+        Instant cursor = pollCursor;
+        List<RevokedToken> rows = cursor == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findByRevokedAtGreaterThanEqual(cursor.minusMillis(params.getTokenRevocationPollOverlapMs()));
+
+        int added = 0;
+        for (RevokedToken row : rows) {
+            if (row.getExpiresAt().isAfter(now) && !revoked.containsKey(row.getTokenId())) {
+                add(row.getTokenId(), row.getExpiresAt());
+                added++;
+            }
+        }
+        pollCursor = now;
+        if (added > 0) {
+            log.info("Loaded {} revoked tokens from the store", added);
+        }
+
+        evictExpired(now);
+    }
+
+    @Scheduled(fixedDelayString = "${token-revocation.cleanup-interval-ms:3600000}", initialDelayString = "${token-revocation.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired revoked tokens", deleted);
+        }
+    }
+
+    private void add(String tokenId, Instant expiresAt) {
+        synchronized (writeLock) {
+            // Exact set first, so a concurrent reader that sees the filter bits also finds the entry
+            revoked.put(tokenId, expiresAt);
+            if (revoked.size() > bloomFilter.getExpectedEntries()) {
+                rebuild();
+            } else {
+                bloomFilter.put(tokenId);
+            }
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        synchronized (writeLock) {
+            if (revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now))) {
+                rebuild();
+            }
+        }
+    }
+
+    // Bloom filters cannot forget keys, so a shrink or a grow means a fresh filter built from the exact set
+    private void rebuild() {
+        BloomFilter rebuilt = newBloomFilter(revoked.size() * 2);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+
+    private BloomFilter newBloomFilter(int minimumEntries) {
+        int expectedEntries = Math.max(Math.max(params.getTokenRevocationBloomExpectedEntries(), MIN_BLOOM_ENTRIES), minimumEntries);
+        double falsePositiveRate = params.getTokenRevocationBloomFalsePositiveRate() > 0 && params.getTokenRevocationBloomFalsePositiveRate() < 1
+                ? params.getTokenRevocationBloomFalsePositiveRate()
+                : DEFAULT_FALSE_POSITIVE_RATE;
+        return new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+}
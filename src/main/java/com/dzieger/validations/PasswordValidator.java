@@ -4,13 +4,16 @@ import com.dzieger.annotations.ValidPassword;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import java.util.regex.Pattern;
+
 public class PasswordValidator implements ConstraintValidator<ValidPassword, String> {
 
-    private static final String PASSWORD_PATTERN = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,20}$";
+    // Compiled once; String.matches would compile the pattern again on every call
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,20}$");
 
     @Override
     public boolean isValid(String password, ConstraintValidatorContext context) {
-        return password != null && password.matches(PASSWORD_PATTERN);
+        return password != null && PASSWORD_PATTERN.matcher(password).matches();
     }
 
 }
@@ -0,0 +1,46 @@
+package com.dzieger.SecurityConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void testUpgradeEncoding_whenStoredCostIsLower() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(6);
+        String stored = new BCryptPasswordEncoder(5).encode("Valid@123");
+
+        assertTrue(encoder.upgradeEncoding(stored));
+    }
+
+    @Test
+    void testUpgradeEncoding_neverDowngradesAHigherStoredCost() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+        String stored = new BCryptPasswordEncoder(6).encode("Valid@123");
+
+        assertFalse(encoder.upgradeEncoding(stored));
+    }
+
+    @Test
+    void testUpgradeEncoding_whenStoredCostMatches() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Valid@123")));
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("not-a-hash"));
+    }
+
+    @Test
+    void testCalibrate_staysWithinBounds() {
+        int cost = CalibratedBCryptPasswordEncoder.calibrate(1, 4, 6);
+        assertTrue(cost >= 4 && cost <= 6);
+
+        // A target far above what the cheapest costs take must land on the upper bound
+        assertEquals(6, CalibratedBCryptPasswordEncoder.calibrate(60_000, 4, 6));
+    }
+
+}
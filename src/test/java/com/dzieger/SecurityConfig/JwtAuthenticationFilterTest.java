@@ -0,0 +1,117 @@
+package com.dzieger.SecurityConfig;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.exceptions.jwt.JwtExpiredException;
+import com.dzieger.services.AuthService;
+import com.dzieger.services.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private Parameters params;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(jwtUtil, authService, tokenRevocationService, params, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/games");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    void testValidToken_authenticatesAndTimesEveryPhase() throws Exception {
+        when(jwtUtil.parseAndValidate("token")).thenReturn(new ValidatedToken("jti", UUID.randomUUID(), "test", "issuer",
+                List.of("PLAYER"), new Date(System.currentTimeMillis() + 60_000)));
+
+        filter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+
+        assertEquals("test", SecurityContextHolder.getContext().getAuthentication().getName());
+        for (String phase : List.of("extract", "verify", "revocation", "context")) {
+            assertEquals(1, meterRegistry.get("auth.filter.phase").tag("phase", phase).timer().count(), phase);
+        }
+        assertEquals(1.0, meterRegistry.get("auth.filter.requests").tag("outcome", "authenticated").counter().count());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testRevokedToken_isRejected() throws Exception {
+        when(jwtUtil.parseAndValidate("token")).thenReturn(new ValidatedToken("jti", UUID.randomUUID(), "test", "issuer",
+                List.of("PLAYER"), new Date(System.currentTimeMillis() + 60_000)));
+        when(tokenRevocationService.isRevoked("jti")).thenReturn(true);
+
+        filter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, meterRegistry.get("auth.filter.phase").tag("phase", "revocation").timer().count());
+        assertEquals(0, meterRegistry.get("auth.filter.phase").tag("phase", "context").timer().count());
+        assertEquals(1.0, meterRegistry.get("auth.filter.requests").tag("outcome", "rejected").counter().count());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testInvalidToken_isRejectedAfterVerifyPhase() throws Exception {
+        when(jwtUtil.parseAndValidate("token")).thenThrow(new JwtExpiredException("expired"));
+
+        filter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, meterRegistry.get("auth.filter.phase").tag("phase", "verify").timer().count());
+        assertEquals(1.0, meterRegistry.get("auth.filter.requests").tag("outcome", "rejected").counter().count());
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void testNoToken_passesThroughAnonymously() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/games"), new MockHttpServletResponse(), filterChain);
+
+        assertEquals(1.0, meterRegistry.get("auth.filter.requests").tag("outcome", "anonymous").counter().count());
+        verifyNoInteractions(jwtUtil);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+}
@@ -1,22 +1,30 @@
 package com.dzieger.SecurityConfig;
 
 import com.dzieger.config.Parameters;
+import com.dzieger.config.ParametersRefreshedEvent;
 
 import com.dzieger.exceptions.jwt.InvalidIssuerException;
 import com.dzieger.exceptions.jwt.JwtExpiredException;
+import com.dzieger.exceptions.jwt.JwtValidationException;
 import com.dzieger.models.Player;
 import com.dzieger.models.enums.Role;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -30,7 +38,7 @@ class JwtUtilTest {
     @Mock
     private Parameters params;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private JwtUtil jwtUtil;
 
     private Key secretKey;
@@ -41,6 +49,8 @@ class JwtUtilTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = new JwtUtil(params, meterRegistry);
 
         // Mock Parameters
         when(params.getJwtSecret()).thenReturn(jwtSecret);
@@ -71,6 +81,24 @@ class JwtUtilTest {
         assertTrue(claims.getExpiration().after(new Date()));
     }
 
+    @Test
+    void testGenerateToken_capsLifetimeAtMaxTtl() {
+        when(params.getJwtAccessTokenMaxTtlSeconds()).thenReturn(900L);
+        jwtUtil.init();
+
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("test");
+        player.setRole(Role.PLAYER);
+
+        long before = System.currentTimeMillis();
+        Claims claims = extractClaims(jwtUtil.generateToken(player, List.of("ROLE_USER")));
+
+        // jwt/expiration asks for an hour; the cap wins. Claims carry whole seconds
+        long lifetime = claims.getExpiration().getTime() - before;
+        assertTrue(lifetime <= 900_000 && lifetime > 890_000, "lifetime was " + lifetime);
+    }
+
     @Test
     void testValidateValidToken() {
         Player player = new Player();
@@ -183,7 +211,228 @@ class JwtUtilTest {
         assertEquals(player.getUsername(), extractedUsername); // Expected `null` since `username` is not included in `generateToken`
     }
 
+    @Test
+    void testParseAndValidate_returnsAllClaims() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("test");
+        player.setRole(Role.PLAYER);
+
+        List<String> authorities = List.of(Role.PLAYER.toString(), "test");
+
+        String token = jwtUtil.generateToken(player, authorities);
+        ValidatedToken validatedToken = jwtUtil.parseAndValidate(token);
+
+        assertEquals(player.getId(), validatedToken.getSubject());
+        assertEquals(player.getUsername(), validatedToken.getUsername());
+        assertEquals(jwtIssuer, validatedToken.getIssuer());
+        assertEquals(authorities, validatedToken.getAuthorities());
+        assertTrue(validatedToken.getExpiration().after(new Date()));
+        assertEquals(extractClaims(token).getId(), validatedToken.getTokenId());
+    }
+
+    @Test
+    void testMetrics_recordSignAndVerifyByOutcome() {
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "test", List.of("PLAYER"));
+        jwtUtil.parseAndValidate(token);
+        assertThrows(JwtValidationException.class, () -> jwtUtil.parseAndValidate(token + "tampered"));
+
+        assertEquals(1, meterRegistry.get("jwt.sign").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void testGenerateToken_givesEveryTokenAUniqueId() {
+        UUID playerId = UUID.randomUUID();
+
+        String first = jwtUtil.generateToken(playerId, "test", List.of("PLAYER"));
+        String second = jwtUtil.generateToken(playerId, "test", List.of("PLAYER"));
+
+        assertNotNull(jwtUtil.parseAndValidate(first).getTokenId());
+        assertNotEquals(jwtUtil.parseAndValidate(first).getTokenId(), jwtUtil.parseAndValidate(second).getTokenId());
+    }
+
+    @Test
+    void testParseAndValidate_rejectsTokenSignedWithDifferentKey() {
+        String token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .setIssuer(jwtIssuer)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(Keys.hmacShaKeyFor("adifferentsecretkeythatisalsolongenough456".getBytes()))
+                .compact();
+
+        assertThrows(JwtValidationException.class, () -> jwtUtil.parseAndValidate(token));
+    }
+
+    @Test
+    void testGenerateToken_setsKeyIdOfCurrentSecret() throws Exception {
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "test", List.of(Role.PLAYER.toString()));
+
+        assertEquals(JwtUtil.keyId(jwtSecret), extractKeyId(token));
+    }
+
+    @Test
+    void testRotation_signsWithNewKey_andStillAcceptsTokensSignedWithPreviousKey() throws Exception {
+        String oldToken = jwtUtil.generateToken(UUID.randomUUID(), "test", List.of(Role.PLAYER.toString()));
+
+        String newSecret = "anewlyrotatedsecretkeyforsigningjwt456789";
+        when(params.getJwtSecret()).thenReturn(newSecret);
+        jwtUtil.onApplicationEvent(new ParametersRefreshedEvent(params));
+
+        String newToken = jwtUtil.generateToken(UUID.randomUUID(), "test", List.of(Role.PLAYER.toString()));
+
+        assertEquals(JwtUtil.keyId(newSecret), extractKeyId(newToken));
+        assertEquals("test", jwtUtil.parseAndValidate(newToken).getUsername());
+        assertEquals("test", jwtUtil.parseAndValidate(oldToken).getUsername());
+    }
+
+    @Test
+    void testRotation_acceptsTokensWithoutKeyId_signedWithRetiredKey() {
+        String oldToken = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("username", "test")
+                .setIssuer(jwtIssuer)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(secretKey)
+                .compact();
+
+        when(params.getJwtSecret()).thenReturn("anewlyrotatedsecretkeyforsigningjwt456789");
+        jwtUtil.onApplicationEvent(new ParametersRefreshedEvent(params));
+
+        assertEquals("test", jwtUtil.parseAndValidate(oldToken).getUsername());
+        assertEquals("test", jwtUtil.extractUsername(oldToken));
+    }
+
+    @Test
+    void testRotation_rejectsTokensWithoutKeyId_onceRetiredKeyHasExpired() throws InterruptedException {
+        when(params.getJwtExpiration()).thenReturn("1");
+        jwtUtil.init();
+        String oldToken = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .setIssuer(jwtIssuer)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(secretKey)
+                .compact();
+
+        when(params.getJwtSecret()).thenReturn("anewlyrotatedsecretkeyforsigningjwt456789");
+        jwtUtil.onApplicationEvent(new ParametersRefreshedEvent(params));
+        Thread.sleep(10);
+
+        assertThrows(JwtValidationException.class, () -> jwtUtil.parseAndValidate(oldToken));
+    }
+
+    @Test
+    void testInit_acceptsTokensSignedWithConfiguredPreviousSecrets() {
+        String previousSecret = "thepreviouslyusedsecretkeyforsigningjwt00";
+        when(params.getJwtPreviousSecrets()).thenReturn(List.of(previousSecret));
+        jwtUtil.init();
+
+        String token = Jwts.builder()
+                .setHeaderParam("kid", JwtUtil.keyId(previousSecret))
+                .setSubject(UUID.randomUUID().toString())
+                .claim("username", "test")
+                .setIssuer(jwtIssuer)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(Keys.hmacShaKeyFor(previousSecret.getBytes()))
+                .compact();
+
+        assertEquals("test", jwtUtil.parseAndValidate(token).getUsername());
+    }
+
+    @Test
+    void testParseAndValidate_rejectsUnknownKeyId() {
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "unknown")
+                .setSubject(UUID.randomUUID().toString())
+                .setIssuer(jwtIssuer)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(secretKey)
+                .compact();
+
+        assertThrows(JwtValidationException.class, () -> jwtUtil.parseAndValidate(token));
+    }
+
+    @Test
+    void testAsymmetricSigning_RS256_verifiesWithPublishedPublicKey() throws Exception {
+        KeyPair keyPair = useAsymmetricKeys("RS256", "RSA");
+
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "test", List.of(Role.PLAYER.toString()));
+
+        assertEquals("test", jwtUtil.parseAndValidate(token).getUsername());
+        assertEquals(JsonWebKeys.thumbprint(keyPair.getPublic()), extractKeyId(token));
+        // Any service holding only the public key can verify the token
+        Claims claims = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build().parseClaimsJws(token).getBody();
+        assertEquals("test", claims.get("username"));
+
+        JsonNode jwk = new ObjectMapper().readTree(jwtUtil.getJwks().getBody()).path("keys").get(0);
+        assertEquals("RSA", jwk.path("kty").asText());
+        assertEquals("RS256", jwk.path("alg").asText());
+        assertEquals(extractKeyId(token), jwk.path("kid").asText());
+    }
+
+    @Test
+    void testAsymmetricSigning_ES256_roundTrips() throws Exception {
+        useAsymmetricKeys("ES256", "EC");
+
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "test", List.of(Role.PLAYER.toString()));
+
+        assertEquals("test", jwtUtil.parseAndValidate(token).getUsername());
+        JsonNode jwk = new ObjectMapper().readTree(jwtUtil.getJwks().getBody()).path("keys").get(0);
+        assertEquals("EC", jwk.path("kty").asText());
+        assertEquals("P-256", jwk.path("crv").asText());
+    }
+
+    @Test
+    void testAsymmetricSigning_rejectsHmacTokenSignedWithPublicKeyBytes() throws Exception {
+        KeyPair keyPair = useAsymmetricKeys("RS256", "RSA");
+
+        // Algorithm confusion: an HS256 token keyed with the (public) RSA key bytes must not verify
+        String token = Jwts.builder()
+                .setHeaderParam("kid", JsonWebKeys.thumbprint(keyPair.getPublic()))
+                .setSubject(UUID.randomUUID().toString())
+                .setIssuer(jwtIssuer)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(Keys.hmacShaKeyFor(keyPair.getPublic().getEncoded()))
+                .compact();
+
+        assertThrows(JwtValidationException.class, () -> jwtUtil.parseAndValidate(token));
+    }
+
+    @Test
+    void testGetJwks_isEmpty_whenSigningWithHmacSecret() throws Exception {
+        assertEquals(0, new ObjectMapper().readTree(jwtUtil.getJwks().getBody()).path("keys").size());
+    }
+
+    private KeyPair useAsymmetricKeys(String signingAlgorithm, String keyAlgorithm) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        if (keyAlgorithm.equals("EC")) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        } else {
+            generator.initialize(2048);
+        }
+        KeyPair keyPair = generator.generateKeyPair();
+
+        when(params.getJwtSigningAlgorithm()).thenReturn(signingAlgorithm);
+        when(params.getJwtPrivateKey()).thenReturn(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        when(params.getJwtPublicKey()).thenReturn(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        jwtUtil.init();
+        return keyPair;
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
     // Utility method to extract claims for testing
+    // Reads the kid header without verifying the signature, so it works for tokens signed with any key
+    private String extractKeyId(String token) throws Exception {
+        byte[] header = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+        return new ObjectMapper().readTree(header).path("kid").asText(null);
+    }
+
     private Claims extractClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(secretKey)
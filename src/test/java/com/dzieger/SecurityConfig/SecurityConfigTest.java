@@ -1,5 +1,6 @@
 package com.dzieger.SecurityConfig;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.aspectj.lang.annotation.Before;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +47,106 @@ public class SecurityConfigTest {
                 .andExpect(status().isOk());
     }
 
-    // TODO: Add tests for protected endpoints (role authentication and JWT token validation) when protected endpoints are introduced
+    @Test
+    void testRevokedAccessTokenIsRejected() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"revoked\",\"email\":\"revoked@email.com\",\"password\":\"Valid@123\",\"firstName\":\"John\"}"))
+                .andExpect(status().isCreated());
+
+        String loginResponse = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"revoked\",\"password\":\"Valid@123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = new ObjectMapper().readTree(loginResponse).get("token").asText();
+
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        // The filter now refuses the token, so the second logout is unauthenticated
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testPlayerImportRequiresAdminRole() throws Exception {
+        String body = "{\"username\":\"imported1\",\"email\":\"imported1@email.com\",\"password\":\"Valid@123\",\"firstName\":\"john\"}\n"
+                + "{\"username\":\"imported1\",\"email\":\"imported2@email.com\",\"password\":\"Valid@123\",\"firstName\":\"Jane\"}\n"
+                + "{\"username\":\"x\"}\n";
+        String playerToken = jwtUtil.generateToken(UUID.randomUUID(), "someplayer", List.of("PLAYER"));
+        String adminToken = jwtUtil.generateToken(UUID.randomUUID(), "someadmin", List.of("ADMIN"));
+
+        mockMvc.perform(post("/admin/players/import")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isForbidden());
+
+        String results = mockMvc.perform(post("/admin/players/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = results.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("CREATED", new ObjectMapper().readTree(lines[0]).get("status").asText());
+        assertEquals("DUPLICATE_USERNAME", new ObjectMapper().readTree(lines[1]).get("status").asText());
+        assertEquals("INVALID", new ObjectMapper().readTree(lines[2]).get("status").asText());
+
+        // Imported players log in like registered ones
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"imported1\",\"password\":\"Valid@123\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testIntrospectionRequiresServiceRole() throws Exception {
+        String inspected = jwtUtil.generateToken(UUID.randomUUID(), "someplayer", List.of("PLAYER"));
+        String serviceToken = jwtUtil.generateToken(UUID.randomUUID(), "gateway", List.of("SERVICE"));
+
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", inspected))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/auth/introspect")
+                        .header("Authorization", "Bearer " + inspected)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", inspected))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/auth/introspect/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[\"" + inspected + "\"]}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/auth/introspect")
+                        .header("Authorization", "Bearer " + serviceToken)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", inspected))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testOnlyHealthIsPublicOnActuator() throws Exception {
+        String playerToken = jwtUtil.generateToken(UUID.randomUUID(), "someplayer", List.of("PLAYER"));
+        String serviceToken = jwtUtil.generateToken(UUID.randomUUID(), "prometheus", List.of("SERVICE"));
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + playerToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + serviceToken))
+                .andExpect(status().isOk());
+    }
 
 }
@@ -0,0 +1,80 @@
+package com.dzieger.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ParameterRefresherTest {
+
+    @Mock
+    private ParameterStoreLoader parameterStoreLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private Parameters params;
+    private ParameterRefresher parameterRefresher;
+
+    @BeforeEach
+    void setUp() {
+        params = new Parameters("localhost:5432/catan", "user", "password", "secret-1", "3600000", "issuer");
+        params.setApplicationEventPublisher(eventPublisher);
+        parameterRefresher = new ParameterRefresher(parameterStoreLoader, params);
+    }
+
+    private static Map<String, String> fetched(String secret, String previousSecrets) {
+        return Map.of(
+                "database/url", "localhost:5432/catan",
+                "database/username", "user",
+                "database/password", "password",
+                "jwt/secret", secret,
+                "jwt/previous-secrets", previousSecrets,
+                "jwt/expiration", "3600000",
+                "jwt/issuer", "issuer");
+    }
+
+    @Test
+    void testRefresh_appliesRotatedSecret_andPublishesEvent() {
+        when(parameterStoreLoader.refresh()).thenReturn(fetched("secret-2", "secret-1, "));
+
+        parameterRefresher.refresh();
+
+        assertEquals("secret-2", params.getJwtSecret());
+        assertEquals(List.of("secret-1"), params.getJwtPreviousSecrets());
+        verify(eventPublisher, times(1)).publishEvent(any(ParametersRefreshedEvent.class));
+    }
+
+    @Test
+    void testRefresh_doesNotPublishEvent_whenNothingChanged() {
+        when(parameterStoreLoader.refresh()).thenReturn(fetched("secret-1", ""));
+
+        parameterRefresher.refresh();
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testRefresh_keepsCurrentValues_whenParameterStoreFails() {
+        when(parameterStoreLoader.refresh()).thenThrow(SdkClientException.create("Unable to connect"));
+
+        parameterRefresher.refresh();
+
+        assertEquals("secret-1", params.getJwtSecret());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+}
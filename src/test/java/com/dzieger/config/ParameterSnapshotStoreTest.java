@@ -0,0 +1,71 @@
+package com.dzieger.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+public class ParameterSnapshotStoreTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndRead_roundTripsParameters() {
+        ParameterSnapshotStore store = new ParameterSnapshotStore(tempDir.resolve("params.snapshot"), KEY, "dev");
+
+        store.write(Map.of("jwt/secret", "s3cr3t=with:chars", "database/url", "localhost:5432/catan"));
+
+        assertEquals(Optional.of(Map.of("jwt/secret", "s3cr3t=with:chars", "database/url", "localhost:5432/catan")), store.read());
+    }
+
+    @Test
+    void testWrite_doesNotStorePlainText() throws Exception {
+        Path path = tempDir.resolve("params.snapshot");
+        new ParameterSnapshotStore(path, KEY, "dev").write(Map.of("jwt/secret", "plaintextsecret"));
+
+        assertFalse(new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1).contains("plaintextsecret"));
+    }
+
+    @Test
+    void testRead_returnsEmpty_whenKeyOrProfileDiffer() {
+        Path path = tempDir.resolve("params.snapshot");
+        new ParameterSnapshotStore(path, KEY, "dev").write(Map.of("jwt/secret", "secret"));
+
+        byte[] otherKey = Arrays.copyOf(KEY, KEY.length);
+        otherKey[0] ^= 1;
+
+        assertTrue(new ParameterSnapshotStore(path, otherKey, "dev").read().isEmpty());
+        assertTrue(new ParameterSnapshotStore(path, KEY, "prod").read().isEmpty());
+    }
+
+    @Test
+    void testRead_returnsEmpty_whenSnapshotIsTampered() throws Exception {
+        Path path = tempDir.resolve("params.snapshot");
+        ParameterSnapshotStore store = new ParameterSnapshotStore(path, KEY, "dev");
+        store.write(Map.of("jwt/secret", "secret"));
+
+        byte[] contents = Files.readAllBytes(path);
+        contents[contents.length - 1] ^= 1;
+        Files.write(path, contents);
+
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void testRead_returnsEmpty_whenSnapshotIsMissing() {
+        assertTrue(new ParameterSnapshotStore(tempDir.resolve("missing"), KEY, "dev").read().isEmpty());
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.dzieger.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ParameterStoreLoaderTest {
+
+    private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private SsmClient ssmClient;
+
+    @TempDir
+    Path tempDir;
+
+    private static Parameter parameter(String name, String value) {
+        return Parameter.builder().name("/catan/dev/" + name).value(value).build();
+    }
+
+    @Test
+    void testGet_fetchesAllPagesUnderProfilePath() {
+        when(ssmClient.getParametersByPath(argThat((GetParametersByPathRequest request) -> request != null && request.nextToken() == null)))
+                .thenReturn(GetParametersByPathResponse.builder().parameters(parameter("jwt/secret", "secret")).nextToken("page-2").build());
+        when(ssmClient.getParametersByPath(argThat((GetParametersByPathRequest request) -> request != null && "page-2".equals(request.nextToken()))))
+                .thenReturn(GetParametersByPathResponse.builder().parameters(parameter("jwt/issuer", "issuer")).build());
+
+        ParameterStoreLoader loader = new ParameterStoreLoader(() -> ssmClient, "dev", null, 5000);
+        loader.start();
+
+        assertEquals("secret", loader.get("jwt/secret"));
+        assertEquals("issuer", loader.get("jwt/issuer"));
+        verify(ssmClient, times(2)).getParametersByPath(argThat((GetParametersByPathRequest request) ->
+                request != null && request.path().equals("/catan/dev/") && request.withDecryption() && request.recursive()));
+    }
+
+    @Test
+    void testGet_throws_whenParameterIsMissing() {
+        when(ssmClient.getParametersByPath(any(GetParametersByPathRequest.class)))
+                .thenReturn(GetParametersByPathResponse.builder().parameters(parameter("jwt/secret", "secret")).build());
+
+        ParameterStoreLoader loader = new ParameterStoreLoader(() -> ssmClient, "dev", null, 5000);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> loader.get("jwt/issuer"));
+        assertEquals("Missing parameter: /catan/dev/jwt/issuer", exception.getMessage());
+    }
+
+    @Test
+    void testGet_fallsBackToSnapshot_whenParameterStoreIsUnreachable() {
+        ParameterSnapshotStore snapshotStore = new ParameterSnapshotStore(tempDir.resolve("dev.snapshot"), KEY, "dev");
+        snapshotStore.write(Map.of("jwt/secret", "snapshot-secret"));
+        when(ssmClient.getParametersByPath(any(GetParametersByPathRequest.class)))
+                .thenThrow(SdkClientException.create("Unable to connect"));
+
+        ParameterStoreLoader loader = new ParameterStoreLoader(() -> ssmClient, "dev", snapshotStore, 5000);
+
+        assertEquals("snapshot-secret", loader.get("jwt/secret"));
+    }
+
+    @Test
+    void testGet_throws_whenParameterStoreIsUnreachableAndNoSnapshotExists() {
+        when(ssmClient.getParametersByPath(any(GetParametersByPathRequest.class)))
+                .thenThrow(SdkClientException.create("Unable to connect"));
+
+        ParameterStoreLoader loader = new ParameterStoreLoader(() -> ssmClient, "dev",
+                new ParameterSnapshotStore(tempDir.resolve("missing.snapshot"), KEY, "dev"), 5000);
+
+        assertThrows(IllegalStateException.class, () -> loader.get("jwt/secret"));
+    }
+
+}
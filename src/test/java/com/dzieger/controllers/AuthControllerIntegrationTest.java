@@ -4,6 +4,7 @@ import com.dzieger.SecurityConfig.JwtUtil;
 import com.dzieger.models.Player;
 import com.dzieger.models.enums.Role;
 import com.dzieger.repositories.PlayerRepository;
+import com.dzieger.services.PlayerDetailsCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,9 @@ public class AuthControllerIntegrationTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PlayerDetailsCache playerDetailsCache;
+
     @BeforeAll
     public void setUp() {
         playerRepository.deleteAll();
@@ -53,6 +57,7 @@ public class AuthControllerIntegrationTest {
     @BeforeEach
     void cleanUp() {
         playerRepository.deleteAll();
+        playerDetailsCache.invalidateAll();
     }
 
     @Test
@@ -269,9 +274,9 @@ public class AuthControllerIntegrationTest {
         assertEquals(player.getUsername(), jwtUtil.extractUsername(token));
     }
 
-    // Test login endpoint with invalid username
+    // Test login endpoint with invalid username: same response as a wrong password, so it does not reveal the account
     @Test
-    void testLogin_shouldReturnStatusBadRequest_whenUsernameIsInvalid() throws Exception {
+    void testLogin_shouldReturnStatusUnauthorized_whenUsernameIsInvalid() throws Exception {
         String requestBody = """
                 {
                     "username": "invalid",
@@ -282,7 +287,7 @@ public class AuthControllerIntegrationTest {
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isUnauthorized());
     }
 
     // Test login endpoint with invalid password
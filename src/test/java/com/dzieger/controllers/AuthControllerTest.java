@@ -1,11 +1,16 @@
 package com.dzieger.controllers;
 
+import com.dzieger.SecurityConfig.JwtPrincipal;
 import com.dzieger.dtos.LoginDTO;
 import com.dzieger.dtos.OutgoingAuthenticatedPlayerDTO;
 import com.dzieger.dtos.OutgoingPlayerDTO;
 import com.dzieger.dtos.RegisterDTO;
 import com.dzieger.exceptions.GlobalExceptionHandler;
+import com.dzieger.exceptions.LoginRateLimitExceededException;
+import com.dzieger.services.LoginRateLimiter;
 import com.dzieger.services.PlayerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,14 +18,28 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
@@ -32,17 +51,29 @@ class AuthControllerTest {
     @Mock
     private PlayerService playerService;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @InjectMocks
     private AuthController authController;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
         mockMvc = MockMvcBuilders.standaloneSetup(authController)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(meterRegistry))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void testRegister_shouldReturnStatusOkAndOutgoingPlayerDTO() throws Exception {
         RegisterDTO registerDTO = new RegisterDTO();
@@ -175,6 +206,25 @@ class AuthControllerTest {
                         .content("{\"username\":\"test\",\"password\":\"Invalid@123\"}"))
                 .andExpect(status().isUnauthorized())
                 .andDo(print());
+
+        assertEquals(1.0, meterRegistry.get("auth.errors").tag("outcome", "bad_credentials").counter().count());
+    }
+
+    // Test login endpoint when the rate limiter rejects the attempt
+    @Test
+    void testLogin_shouldReturnTooManyRequestsWithRetryAfter_whenRateLimited() throws Exception {
+        doThrow(new LoginRateLimitExceededException("Too many login attempts, please retry later", 42))
+                .when(loginRateLimiter).check("test", "127.0.0.1");
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"test\",\"password\":\"Valid@123\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "42"))
+                .andDo(print());
+
+        verifyNoInteractions(playerService);
+        assertEquals(1.0, meterRegistry.get("auth.errors").tag("outcome", "rate_limited").counter().count());
     }
 
     // Test login endpoint with empty request body
@@ -200,4 +250,116 @@ class AuthControllerTest {
                 .andDo(print());
     }
 
-}
\ No newline at end of file
+    // Test refresh endpoint with a valid refresh token
+    @Test
+    void testRefresh_shouldReturnStatusOkAndRotatedTokens() throws Exception {
+        OutgoingAuthenticatedPlayerDTO outgoingAuthenticatedPlayerDTO = new OutgoingAuthenticatedPlayerDTO();
+        outgoingAuthenticatedPlayerDTO.setUsername("test");
+        outgoingAuthenticatedPlayerDTO.setFirstName("John");
+        outgoingAuthenticatedPlayerDTO.setRole("PLAYER");
+        outgoingAuthenticatedPlayerDTO.setToken("token");
+        outgoingAuthenticatedPlayerDTO.setRefreshToken("next");
+
+        when(playerService.refresh("current")).thenReturn(outgoingAuthenticatedPlayerDTO);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"current\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"token\":\"token\",\"refreshToken\":\"next\"}"))
+                .andDo(print());
+    }
+
+    // Test refresh endpoint with a rejected refresh token
+    @Test
+    void testRefresh_shouldReturnStatusUnauthorized_whenRefreshTokenIsRejected() throws Exception {
+        when(playerService.refresh("reused")).thenThrow(new BadCredentialsException("Invalid refresh token"));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"reused\"}"))
+                .andExpect(status().isUnauthorized())
+                .andDo(print());
+    }
+
+    // Test refresh endpoint without a refresh token
+    @Test
+    void testRefresh_shouldReturnStatusBadRequest_whenRefreshTokenIsMissing() throws Exception {
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    // Test logout endpoint with an authenticated caller and a refresh token
+    @Test
+    void testLogout_shouldRevokeTokensAndReturnNoContent() throws Exception {
+        // JWT expirations are whole seconds, so the Date round trip keeps this exact
+        Instant expiresAt = Instant.now().plusSeconds(600).truncatedTo(ChronoUnit.SECONDS);
+        JwtPrincipal principal = new JwtPrincipal(UUID.randomUUID(), "test", List.of(), "jti", Date.from(expiresAt));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"current\"}"))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+
+        verify(playerService).logout("jti", expiresAt, "current");
+    }
+
+    // Test logout endpoint with an authenticated caller and no body
+    @Test
+    void testLogout_withoutBody_shouldOnlyRevokeAccessToken() throws Exception {
+        Instant expiresAt = Instant.now().plusSeconds(600).truncatedTo(ChronoUnit.SECONDS);
+        JwtPrincipal principal = new JwtPrincipal(UUID.randomUUID(), "test", List.of(), "jti", Date.from(expiresAt));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+
+        verify(playerService).logout("jti", expiresAt, null);
+    }
+
+    // Test logout endpoint without an access token
+    @Test
+    void testLogout_shouldReturnStatusUnauthorized_whenNotAuthenticated() throws Exception {
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isUnauthorized())
+                .andDo(print());
+
+        verifyNoInteractions(playerService);
+    }
+
+    // Test change password endpoint with an authenticated caller
+    @Test
+    void testChangePassword_shouldReturnNoContent() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        Date expiration = Date.from(Instant.now().plusSeconds(600));
+        JwtPrincipal principal = new JwtPrincipal(playerId, "test", List.of(), "jti", expiration);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        mockMvc.perform(post("/auth/password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"Valid@123\",\"newPassword\":\"Other@456\"}"))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+
+        verify(playerService).changePassword(playerId, "jti", expiration.toInstant(), "Valid@123", "Other@456");
+    }
+
+    // Test change password endpoint without an access token
+    @Test
+    void testChangePassword_shouldReturnStatusUnauthorized_whenNotAuthenticated() throws Exception {
+        mockMvc.perform(post("/auth/password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"Valid@123\",\"newPassword\":\"Other@456\"}"))
+                .andExpect(status().isUnauthorized())
+                .andDo(print());
+
+        verifyNoInteractions(playerService);
+    }
+
+}
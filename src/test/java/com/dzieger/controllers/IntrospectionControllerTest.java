@@ -0,0 +1,124 @@
+package com.dzieger.controllers;
+
+import com.dzieger.SecurityConfig.ValidatedToken;
+import com.dzieger.dtos.IntrospectionResponseDTO;
+import com.dzieger.exceptions.GlobalExceptionHandler;
+import com.dzieger.services.TokenIntrospectionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+class IntrospectionControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @InjectMocks
+    private IntrospectionController introspectionController;
+
+    private IntrospectionResponseDTO active;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(introspectionController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+
+        active = IntrospectionResponseDTO.active(new ValidatedToken("jti", UUID.randomUUID(), "test", "issuer",
+                List.of("PLAYER"), new Date(System.currentTimeMillis() + 600_000)));
+    }
+
+    @Test
+    void testIntrospect_shouldReturnActiveTokenClaims() throws Exception {
+        when(tokenIntrospectionService.introspect("token")).thenReturn(active);
+
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(jsonPath("$.username").value("test"))
+                .andExpect(jsonPath("$.token_type").value("Bearer"))
+                .andDo(print());
+    }
+
+    @Test
+    void testIntrospect_inactiveToken_shouldOnlyReportActiveFalse() throws Exception {
+        when(tokenIntrospectionService.introspect("bad")).thenReturn(IntrospectionResponseDTO.inactive());
+
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "bad"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"active\":false}", true))
+                .andDo(print());
+    }
+
+    @Test
+    void testIntrospect_missingToken_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    void testIntrospectBatch_shouldReturnResultsInRequestOrder() throws Exception {
+        when(tokenIntrospectionService.introspectAll(List.of("good", "bad")))
+                .thenReturn(List.of(active, IntrospectionResponseDTO.inactive()));
+
+        mockMvc.perform(post("/auth/introspect/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[\"good\",\"bad\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[1].active").value(false))
+                .andDo(print());
+    }
+
+    @Test
+    void testIntrospectBatch_tooManyTokens_shouldReturnBadRequest() throws Exception {
+        String tokens = String.join(",", Collections.nCopies(101, "\"token\""));
+
+        mockMvc.perform(post("/auth/introspect/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[" + tokens + "]}"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        verifyNoInteractions(tokenIntrospectionService);
+    }
+
+    @Test
+    void testIntrospectBatch_emptyList_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/auth/introspect/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+}
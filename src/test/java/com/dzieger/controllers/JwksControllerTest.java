@@ -0,0 +1,76 @@
+package com.dzieger.controllers;
+
+import com.dzieger.SecurityConfig.JwksDocument;
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.config.Parameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.security.KeyPairGenerator;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+class JwksControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private Parameters params;
+
+    @InjectMocks
+    private JwksController jwksController;
+
+    private JwksDocument jwks;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(jwksController).build();
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        jwks = JwksDocument.of(Map.of("key-1", generator.generateKeyPair().getPublic()));
+        when(jwtUtil.getJwks()).thenReturn(jwks);
+        when(params.getJwtJwksMaxAgeSeconds()).thenReturn(300L);
+    }
+
+    @Test
+    void testJwks_returnsKeysWithEtagAndCacheControl() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, jwks.getEtag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("key-1"))
+                .andExpect(jsonPath("$.keys[0].kty").value("RSA"));
+    }
+
+    @Test
+    void testJwks_returnsNotModified_whenEtagMatches() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, jwks.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, jwks.getEtag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testJwks_returnsBody_whenEtagIsStale() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys").isArray());
+    }
+
+}
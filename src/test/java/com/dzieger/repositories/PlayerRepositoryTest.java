@@ -2,17 +2,28 @@ package com.dzieger.repositories;
 
 import com.dzieger.config.TestDatabaseConfig;
 import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
 import com.dzieger.models.enums.Role;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +31,10 @@ import static org.junit.jupiter.api.Assertions.*;
 @DataJpaTest
 @ActiveProfiles("test")
 @Import(TestDatabaseConfig.class)
+// AuthServiceApplication's explicit @ComponentScan brings every component into this slice, so the auto-configurations
+// they depend on are needed too
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, KafkaAutoConfiguration.class, MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class, ValidationAutoConfiguration.class, RestTemplateAutoConfiguration.class})
 public class PlayerRepositoryTest {
 
     @Autowired
@@ -76,6 +91,36 @@ public class PlayerRepositoryTest {
         assertTrue(player.isEmpty());
     }
 
+    @Test
+    void testFindDetailsByUsername_whenUserExists() {
+        playerRepository.save(mockPlayer);
+        Optional<PlayerDetails> details = playerRepository.findDetailsByUsername(mockPlayer.getUsername());
+
+        assertTrue(details.isPresent());
+        assertEquals(mockPlayer.getId(), details.get().getId());
+        assertEquals(mockPlayer.getPassword(), details.get().getPassword());
+        assertEquals(Role.PLAYER.toString(), details.get().getRole());
+    }
+
+    @Test
+    void testFindDetailsByUsername_whenUserDoesNotExist() {
+        Optional<PlayerDetails> details = playerRepository.findDetailsByUsername("nonexistent");
+
+        assertTrue(details.isEmpty());
+    }
+
+    @Test
+    void testUpdatePassword_marksThePlayerUpdated() {
+        playerRepository.saveAndFlush(mockPlayer);
+        Instant changedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(60);
+
+        playerRepository.updatePassword(mockPlayer.getId(), "NewValid@123", changedAt);
+
+        assertEquals("NewValid@123", playerRepository.findDetailsByUsername("test").get().getPassword());
+        assertEquals(List.of("test"), playerRepository.findUsernamesUpdatedSince(changedAt));
+        assertTrue(playerRepository.findUsernamesUpdatedSince(changedAt.plusMillis(1)).isEmpty());
+    }
+
     @Test
     void testFindByEmail_whenUserExists() {
         playerRepository.save(mockPlayer);
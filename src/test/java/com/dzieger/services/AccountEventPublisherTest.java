@@ -0,0 +1,297 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.AccountEventDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@EmbeddedKafka(partitions = 1, topics = {AccountEventPublisherTest.PUBLISHED_TOPIC, AccountEventPublisherTest.SPILLED_TOPIC})
+class AccountEventPublisherTest {
+
+    static final String PUBLISHED_TOPIC = "account.events.published";
+    static final String SPILLED_TOPIC = "account.events.spilled";
+
+    @Mock
+    private Parameters params;
+
+    @TempDir
+    Path spillDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountEventPublisher publisher;
+    private Consumer<String, String> consumer;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.stop();
+        }
+        if (consumer != null) {
+            consumer.close();
+        }
+    }
+
+    private AccountEventPublisher publisher(EmbeddedKafkaBroker broker, String topic, int bufferCapacity, String overflow) {
+        when(params.isAccountEventsEnabled()).thenReturn(true);
+        when(params.getAccountEventsTopic()).thenReturn(topic);
+        when(params.getAccountEventsBufferCapacity()).thenReturn(bufferCapacity);
+        when(params.getAccountEventsOverflow()).thenReturn(overflow);
+        when(params.getAccountEventsSpillDirectory()).thenReturn(spillDirectory.toString());
+        when(params.getAccountEventsProducerLingerMs()).thenReturn(5);
+        when(params.getAccountEventsProducerBatchSize()).thenReturn(16384);
+        when(params.getAccountEventsProducerCompressionType()).thenReturn("lz4");
+
+        Map<String, Object> producerConfig = AccountEventPublisher.producerConfig(params,
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()));
+        assertEquals(true, producerConfig.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", producerConfig.get(ProducerConfig.ACKS_CONFIG));
+
+        publisher = new AccountEventPublisher(params, new DefaultKafkaProducerFactory<>(producerConfig), objectMapper, meterRegistry);
+        return publisher;
+    }
+
+    // Lets each test decide when the "broker" acknowledges or rejects a send
+    private AccountEventPublisher publisher(TestProducer producer) {
+        when(params.isAccountEventsEnabled()).thenReturn(true);
+        when(params.getAccountEventsTopic()).thenReturn(PUBLISHED_TOPIC);
+        when(params.getAccountEventsOverflow()).thenReturn("spill");
+        when(params.getAccountEventsSpillDirectory()).thenReturn(spillDirectory.toString());
+
+        publisher = new AccountEventPublisher(params, new MockProducerFactory<>(() -> producer), objectMapper, meterRegistry);
+        return publisher;
+    }
+
+    private void spill(String... usernames) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String username : usernames) {
+            lines.add(objectMapper.writeValueAsString(new AccountEventDTO(AccountEventDTO.REGISTERED, UUID.randomUUID(), username, "PLAYER", 1L)));
+        }
+        Files.write(spillDirectory.resolve(AccountEventPublisher.SPILL_FILE), lines);
+    }
+
+    private List<String> usernamesIn(Path file) {
+        try {
+            List<String> usernames = new ArrayList<>();
+            for (String line : Files.readAllLines(file)) {
+                usernames.add(objectMapper.readTree(line).get("username").asText());
+            }
+            return usernames;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ConsumerRecord<String, String>> consume(EmbeddedKafkaBroker broker, String topic, int count) {
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(topic + "-test", "false", broker);
+        consumer = new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer()).createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, topic);
+
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), count).forEach(records::add);
+        return records;
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("account.events").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testPublish_deliversVersionedEventsKeyedByPlayerId(EmbeddedKafkaBroker broker) throws Exception {
+        AccountEventPublisher publisher = publisher(broker, PUBLISHED_TOPIC, 100, "spill");
+        publisher.start();
+        UUID playerId = UUID.randomUUID();
+
+        publisher.publish(AccountEventDTO.REGISTERED, playerId, "jdoe", "PLAYER");
+        publisher.publish(AccountEventDTO.LOGGED_IN, playerId, "jdoe", "PLAYER");
+        publisher.publish(AccountEventDTO.ROLE_CHANGED, playerId, "jdoe", "ADMIN");
+
+        List<ConsumerRecord<String, String>> records = consume(broker, PUBLISHED_TOPIC, 3);
+
+        assertEquals(3, records.size());
+        List<String> types = new ArrayList<>();
+        for (ConsumerRecord<String, String> record : records) {
+            assertEquals(playerId.toString(), record.key());
+            assertEquals("1", new String(record.headers().lastHeader("schemaVersion").value(), StandardCharsets.UTF_8));
+            JsonNode payload = objectMapper.readTree(record.value());
+            assertEquals(AccountEventDTO.SCHEMA_VERSION, payload.get("v").asInt());
+            assertEquals("jdoe", payload.get("username").asText());
+            assertTrue(payload.get("at").asLong() > 0);
+            assertEquals(payload.get("type").asText(), new String(record.headers().lastHeader("eventType").value(), StandardCharsets.UTF_8));
+            types.add(payload.get("type").asText());
+        }
+        assertEquals(List.of(AccountEventDTO.REGISTERED, AccountEventDTO.LOGGED_IN, AccountEventDTO.ROLE_CHANGED), types);
+        waitUntil(() -> outcome("published") == 3.0);
+    }
+
+    @Test
+    void testPublish_spillsOverflowToDisk_andReplaysItOnceTheBufferDrains(EmbeddedKafkaBroker broker) throws Exception {
+        AccountEventPublisher publisher = publisher(broker, SPILLED_TOPIC, 1, "spill");
+
+        // Not started yet: the first event fills the buffer, the rest overflow
+        publisher.publish(AccountEventDTO.REGISTERED, UUID.randomUUID(), "first", "PLAYER");
+        publisher.publish(AccountEventDTO.REGISTERED, UUID.randomUUID(), "second", "PLAYER");
+        publisher.publish(AccountEventDTO.REGISTERED, UUID.randomUUID(), "third", "PLAYER");
+
+        Path spillFile = spillDirectory.resolve(AccountEventPublisher.SPILL_FILE);
+        assertEquals(2, Files.readAllLines(spillFile).size());
+        assertEquals(2.0, outcome("spilled"));
+        assertEquals(0.0, outcome("dropped"));
+
+        publisher.start();
+        List<ConsumerRecord<String, String>> records = consume(broker, SPILLED_TOPIC, 3);
+
+        List<String> usernames = new ArrayList<>();
+        for (ConsumerRecord<String, String> record : records) {
+            usernames.add(objectMapper.readTree(record.value()).get("username").asText());
+        }
+        assertEquals(List.of("first", "second", "third"), usernames);
+        waitUntil(() -> !Files.exists(spillFile) && !Files.exists(spillDirectory.resolve(AccountEventPublisher.REPLAY_FILE)));
+    }
+
+    @Test
+    void testPublish_dropsOverflow_whenPolicyIsDrop(EmbeddedKafkaBroker broker) {
+        AccountEventPublisher publisher = publisher(broker, PUBLISHED_TOPIC, 1, "drop");
+
+        publisher.publish(AccountEventDTO.LOGGED_IN, UUID.randomUUID(), "first", "PLAYER");
+        publisher.publish(AccountEventDTO.LOGGED_IN, UUID.randomUUID(), "second", "PLAYER");
+
+        assertEquals(1.0, outcome("dropped"));
+        assertEquals(0.0, outcome("spilled"));
+        assertFalse(Files.exists(spillDirectory.resolve(AccountEventPublisher.SPILL_FILE)));
+        assertEquals(1.0, meterRegistry.get("account.events.buffer").gauge().value());
+    }
+
+    @Test
+    void testPublish_isNoOp_whenDisabled() {
+        AccountEventPublisher publisher = new AccountEventPublisher(params, (ProducerFactory<String, String>) null, objectMapper, meterRegistry);
+        publisher.start();
+
+        publisher.publish(AccountEventDTO.LOGGED_IN, UUID.randomUUID(), "jdoe", "PLAYER");
+
+        assertEquals(0.0, meterRegistry.get("account.events.buffer").gauge().value());
+        assertEquals(0.0, outcome("dropped"));
+    }
+
+    @Test
+    void testReplay_stopsAtFirstUnacknowledgedEvent_andKeepsTheRestOfTheFile() throws Exception {
+        TestProducer producer = new TestProducer();
+        spill("first", "second", "third");
+        publisher(producer).start();
+
+        waitUntil(() -> producer.history().size() == 3);
+        producer.completeNext();
+        producer.errorNext(new TimeoutException("broker unavailable"));
+        producer.completeNext();
+
+        Path replayFile = spillDirectory.resolve(AccountEventPublisher.REPLAY_FILE);
+        waitUntil(() -> usernamesIn(replayFile).equals(List.of("second", "third")));
+        assertEquals(2.0, outcome("published"));
+        assertFalse(Files.exists(spillDirectory.resolve(AccountEventPublisher.SPILL_FILE)));
+    }
+
+    @Test
+    void testReplay_stopsAtTheFirstSendTheProducerCannotAccept() throws Exception {
+        TestProducer producer = new TestProducer();
+        producer.sendException = new TimeoutException("metadata not available after max.block.ms");
+        spill("first", "second", "third");
+        publisher(producer).start();
+
+        waitUntil(() -> producer.attempts.get() > 0);
+        Thread.sleep(500);
+
+        assertEquals(1, producer.attempts.get());
+        assertEquals(List.of("first", "second", "third"), usernamesIn(spillDirectory.resolve(AccountEventPublisher.REPLAY_FILE)));
+    }
+
+    @Test
+    void testPublish_spillsEventsTheBrokerRejects() throws Exception {
+        TestProducer producer = new TestProducer();
+        publisher(producer).start();
+
+        publisher.publish(AccountEventDTO.LOGGED_IN, UUID.randomUUID(), "jdoe", "PLAYER");
+        waitUntil(() -> producer.history().size() == 1);
+        producer.errorNext(new TimeoutException("broker unavailable"));
+
+        waitUntil(() -> outcome("spilled") == 1.0);
+        assertEquals(1.0, outcome("failed"));
+        assertEquals(List.of("jdoe"), usernamesIn(spillDirectory.resolve(AccountEventPublisher.SPILL_FILE)));
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(spillDirectory)));
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(spillDirectory.resolve(AccountEventPublisher.SPILL_FILE))));
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    // KafkaTemplate closes the producer after every send; a MockProducer would refuse all sends after the first
+    private static class TestProducer extends MockProducer<String, String> {
+
+        final AtomicInteger attempts = new AtomicInteger();
+
+        TestProducer() {
+            super(false, new StringSerializer(), new StringSerializer());
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+            attempts.incrementAndGet();
+            return super.send(record, callback);
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+
+    }
+
+}
@@ -2,8 +2,8 @@ package com.dzieger.services;
 
 import com.dzieger.SecurityConfig.JwtUtil;
 import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
 import com.dzieger.models.enums.Role;
-import com.dzieger.repositories.PlayerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,14 +17,14 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
 public class AuthServiceTest {
 
     @Mock
-    private PlayerRepository playerRepository;
+    private PlayerDetailsCache playerDetailsCache;
 
     @Mock
     private JwtUtil jwtUtil;
@@ -47,7 +47,7 @@ public class AuthServiceTest {
 
     @Test
     void testLoadUserByUsername_whenUsernameExists_shouldReturnUserDetails() {
-        when(playerRepository.findByUsername("test")).thenReturn(Optional.of(mockPlayer));
+        when(playerDetailsCache.get("test")).thenReturn(Optional.of(PlayerDetails.from(mockPlayer)));
 
         var userDetails = authService.loadUserByUsername("test");
 
@@ -59,11 +59,23 @@ public class AuthServiceTest {
 
     @Test
     void testLoadUserByUsername_whenUsernameDoesNotExist_shouldThrowUsernameNotFoundException() {
-        when(playerRepository.findByUsername("test")).thenReturn(Optional.empty());
+        when(playerDetailsCache.get("test")).thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> authService.loadUserByUsername("test"));
     }
 
+    @Test
+    void testPlayerExists_whenPlayerIsCachedOrLoaded_shouldReturnTrue() {
+        when(playerDetailsCache.get("test")).thenReturn(Optional.of(PlayerDetails.from(mockPlayer)));
+
+        assertTrue(authService.playerExists("test"));
+    }
 
+    @Test
+    void testPlayerExists_whenPlayerIsUnknown_shouldReturnFalse() {
+        when(playerDetailsCache.get("test")).thenReturn(Optional.empty());
+
+        assertFalse(authService.playerExists("test"));
+    }
 
 }
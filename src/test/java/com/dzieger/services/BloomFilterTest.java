@@ -0,0 +1,52 @@
+package com.dzieger.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+class BloomFilterTest {
+
+    @Test
+    void testMightContain_neverMissesAddedKeys() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.001);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            bloomFilter.put(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertTrue(bloomFilter.mightContain(key));
+        }
+    }
+
+    @Test
+    void testMightContain_falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Expected around 1%; allow generous headroom so the test is not flaky
+        assertTrue(falsePositives < probes * 0.02, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void testConstructor_rejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.exceptions.LoginRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class LoginRateLimiterTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(params.isLoginRateLimitEnabled()).thenReturn(true);
+        lenient().when(params.getLoginRateLimitWindowSeconds()).thenReturn(60L);
+        lenient().when(params.getLoginRateLimitAddressMaxAttempts()).thenReturn(5);
+        lenient().when(params.getLoginRateLimitUsernameMaxAttempts()).thenReturn(3);
+        meterRegistry = new SimpleMeterRegistry();
+        // Start at a window boundary so the arithmetic below is exact
+        clock = new MutableClock(10 * WINDOW_MILLIS);
+        loginRateLimiter = new LoginRateLimiter(new InMemoryLoginRateLimitStore(params), params, meterRegistry, clock);
+    }
+
+    @Test
+    void testCheck_rejectsUsernameOverLimit_withRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.check("test", "10.0.0." + i);
+        }
+
+        LoginRateLimitExceededException exception = assertThrows(
+                LoginRateLimitExceededException.class,
+                () -> loginRateLimiter.check("TEST", "10.0.0.9")
+        );
+
+        assertTrue(exception.getRetryAfterSeconds() > 0);
+        assertEquals(1.0, meterRegistry.get("auth.login.rate-limited").tag("limit", "username").counter().count());
+    }
+
+    @Test
+    void testCheck_rejectsAddressOverLimit_acrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            loginRateLimiter.check("player" + i, "10.0.0.1");
+        }
+
+        assertThrows(LoginRateLimitExceededException.class, () -> loginRateLimiter.check("other", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("auth.login.rate-limited").tag("limit", "address").counter().count());
+        assertDoesNotThrow(() -> loginRateLimiter.check("other", "10.0.0.2"));
+    }
+
+    @Test
+    void testCheck_previousWindowDecaysAcrossTheBoundary() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.check("test", "10.0.0.1");
+        }
+
+        // Just past the boundary the previous window still weighs almost fully
+        clock.advance(WINDOW_MILLIS + 1_000);
+        assertThrows(LoginRateLimitExceededException.class, () -> loginRateLimiter.check("test", "10.0.0.1"));
+
+        // Two thirds in, only a third of the previous window's 3 attempts still counts
+        clock.advance(WINDOW_MILLIS * 2 / 3);
+        assertDoesNotThrow(() -> loginRateLimiter.check("test", "10.0.0.1"));
+    }
+
+    @Test
+    void testCheck_doesNothing_whenDisabled() {
+        when(params.isLoginRateLimitEnabled()).thenReturn(false);
+
+        for (int i = 0; i < 10; i++) {
+            loginRateLimiter.check("test", "10.0.0.1");
+        }
+
+        assertEquals(0.0, meterRegistry.get("auth.login.rate-limited").tag("limit", "username").counter().count());
+    }
+
+    @Test
+    void testRetryAfterMillis_waitsForCurrentWindowToRollAndDecay() {
+        // 4 attempts against a limit of 4, halfway through the window: 30s to the boundary, then 1/4 of a window
+        assertEquals(30_000 + 15_000, LoginRateLimitStore.retryAfterMillis(0, 4, 4, WINDOW_MILLIS, 30_000));
+        // Previous window 4, current 2, limit 4: one more fits once the previous weighs at most 1
+        assertEquals(45_000 - 15_000, LoginRateLimitStore.retryAfterMillis(4, 2, 4, WINDOW_MILLIS, 15_000));
+        assertEquals(0, LoginRateLimitStore.retryAfterMillis(4, 2, 4, WINDOW_MILLIS, 45_000));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+}
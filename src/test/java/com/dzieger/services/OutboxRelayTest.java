@@ -0,0 +1,148 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.OutboxEvent;
+import com.dzieger.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlayerEventPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(params.getOutboxRelayBatchSize()).thenReturn(10);
+        lenient().when(params.getOutboxRelayPublishTimeoutMs()).thenReturn(1000L);
+        lenient().when(params.getOutboxRelayInitialBackoffMs()).thenReturn(1000L);
+        lenient().when(params.getOutboxRelayMaxBackoffMs()).thenReturn(60000L);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, publisher, transactionManager, params, meterRegistry);
+    }
+
+    private static OutboxEvent event() {
+        OutboxEvent event = new OutboxEvent(UUID.randomUUID(), OutboxEvent.PLAYER_REGISTERED, "{}");
+        event.setId(UUID.randomUUID());
+        return event;
+    }
+
+    @Test
+    void testRelay_deletesEvents_oncePublished() {
+        OutboxEvent first = event();
+        OutboxEvent second = event();
+        when(outboxEventRepository.findDueForPublishing(any(Instant.class), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(publisher.publish(any(OutboxEvent.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(List.of(first, second));
+        verify(outboxEventRepository, never()).saveAll(any());
+        // One short transaction to claim the batch and one to record the outcomes
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(2.0, meterRegistry.get("outbox.events.published").counter().count());
+        assertEquals(2, meterRegistry.get("outbox.publish").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testRelay_reschedulesFailedEvents_withBackoff() {
+        OutboxEvent delivered = event();
+        OutboxEvent failed = event();
+        when(outboxEventRepository.findDueForPublishing(any(Instant.class), any(Pageable.class))).thenReturn(List.of(delivered, failed));
+        when(publisher.publish(delivered)).thenReturn(CompletableFuture.completedFuture(null));
+        when(publisher.publish(failed)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Player Service unavailable")));
+
+        Instant before = Instant.now();
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(List.of(delivered));
+        verify(outboxEventRepository, times(1)).saveAll(List.of(failed));
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("Player Service unavailable"));
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusMillis(1000)));
+        assertEquals(1.0, meterRegistry.get("outbox.events.failed").counter().count());
+    }
+
+    @Test
+    void testRelay_treatsSynchronousPublisherExceptionsAsFailures() {
+        OutboxEvent event = event();
+        when(outboxEventRepository.findDueForPublishing(any(Instant.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(publisher.publish(event)).thenThrow(new RuntimeException("boom"));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(outboxEventRepository, times(1)).saveAll(List.of(event));
+        assertEquals(1, event.getAttempts());
+    }
+
+    @Test
+    void testRelay_leasesBatch_andPublishesOutsideTheClaimTransaction() {
+        OutboxEvent event = event();
+        when(outboxEventRepository.findDueForPublishing(any(Instant.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(publisher.publish(event)).thenAnswer(invocation -> {
+            // The claim has committed, with the row leased past the publish wait
+            verify(transactionManager, times(1)).commit(any());
+            assertFalse(event.getNextAttemptAt().isBefore(Instant.now().plusMillis(1000)));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        outboxRelay.relay();
+
+        verify(transactionManager, times(2)).commit(any());
+        verify(outboxEventRepository, times(1)).deleteAllInBatch(List.of(event));
+    }
+
+    @Test
+    void testRelay_stopsWaitingAtPublishTimeout_andReschedulesUnacknowledgedEvents() {
+        OutboxEvent event = event();
+        when(params.getOutboxRelayPublishTimeoutMs()).thenReturn(50L);
+        when(outboxEventRepository.findDueForPublishing(any(Instant.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(publisher.publish(event)).thenReturn(new CompletableFuture<>());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, times(1)).saveAll(List.of(event));
+        assertEquals("Timed out waiting for acknowledgement", event.getLastError());
+    }
+
+    @Test
+    void testBackoff_doublesPerAttempt_andIsCapped() {
+        assertEquals(Duration.ofSeconds(1), outboxRelay.backoff(0));
+        assertEquals(Duration.ofSeconds(4), outboxRelay.backoff(2));
+        assertEquals(Duration.ofSeconds(60), outboxRelay.backoff(10));
+        assertEquals(Duration.ofSeconds(60), outboxRelay.backoff(100));
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
+import com.dzieger.models.enums.Role;
+import com.dzieger.repositories.PlayerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class PlayerDetailsCacheTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PlayerDetailsCache playerDetailsCache;
+    private Player mockPlayer;
+
+    @BeforeEach
+    void setUp() {
+        when(params.getPlayerCacheMaximumSize()).thenReturn(100L);
+        when(params.getPlayerCacheTtlSeconds()).thenReturn(60L);
+        meterRegistry = new SimpleMeterRegistry();
+        playerDetailsCache = new PlayerDetailsCache(playerRepository, params, meterRegistry);
+
+        mockPlayer = new Player();
+        mockPlayer.setId(UUID.randomUUID());
+        mockPlayer.setUsername("test");
+        mockPlayer.setFirstName("John");
+        mockPlayer.setPassword("encodedPassword");
+        mockPlayer.setRole(Role.PLAYER);
+    }
+
+    @Test
+    void testGet_readsThroughOnceAndServesRepeatedLookupsFromCache() {
+        when(playerRepository.findDetailsByUsername("test")).thenReturn(Optional.of(PlayerDetails.from(mockPlayer)));
+
+        Optional<PlayerDetails> first = playerDetailsCache.get("test");
+        Optional<PlayerDetails> second = playerDetailsCache.get("TEST");
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals(mockPlayer.getId(), second.get().getId());
+        assertEquals("encodedPassword", second.get().getPassword());
+        verify(playerRepository, times(1)).findDetailsByUsername("test");
+    }
+
+    @Test
+    void testGet_doesNotCacheUnknownUsernames() {
+        when(playerRepository.findDetailsByUsername("unknown")).thenReturn(Optional.empty());
+
+        assertTrue(playerDetailsCache.get("unknown").isEmpty());
+        assertTrue(playerDetailsCache.get("unknown").isEmpty());
+
+        verify(playerRepository, times(2)).findDetailsByUsername("unknown");
+    }
+
+    @Test
+    void testInvalidate_forcesReload() {
+        when(playerRepository.findDetailsByUsername("test")).thenReturn(Optional.of(PlayerDetails.from(mockPlayer)));
+
+        playerDetailsCache.get("test");
+        playerDetailsCache.invalidate("Test");
+        playerDetailsCache.get("test");
+
+        verify(playerRepository, times(2)).findDetailsByUsername("test");
+    }
+
+    @Test
+    void testPoll_dropsPlayersChangedOnOtherNodes() {
+        when(params.getPlayerCachePollOverlapMs()).thenReturn(30000L);
+        when(playerRepository.findDetailsByUsername("test")).thenReturn(Optional.of(PlayerDetails.from(mockPlayer)));
+        when(playerRepository.findUsernamesUpdatedSince(any(Instant.class))).thenReturn(List.of("test"));
+
+        playerDetailsCache.get("test");
+        playerDetailsCache.poll();
+        playerDetailsCache.get("test");
+
+        verify(playerRepository, times(2)).findDetailsByUsername("test");
+    }
+
+    @Test
+    void testPoll_reachesBackByTheOverlap() {
+        when(params.getPlayerCachePollOverlapMs()).thenReturn(30000L);
+        when(playerRepository.findUsernamesUpdatedSince(any(Instant.class))).thenReturn(List.of());
+        Instant before = Instant.now();
+
+        playerDetailsCache.poll();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(playerRepository).findUsernamesUpdatedSince(since.capture());
+        assertFalse(since.getValue().isAfter(before.minusMillis(30000)));
+    }
+
+    @Test
+    void testMetrics_areRegistered() {
+        when(playerRepository.findDetailsByUsername("test")).thenReturn(Optional.of(PlayerDetails.from(mockPlayer)));
+
+        playerDetailsCache.get("test");
+        playerDetailsCache.get("test");
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "players").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "players").tag("result", "miss").functionCounter().count());
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.dzieger.services;
+
+import com.dzieger.dtos.OutgoingPlayerDTO;
+import com.dzieger.models.Player;
+import com.dzieger.models.enums.Role;
+import com.dzieger.repositories.PlayerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The context, and with it the database, is shared with other test classes: each test only creates and asserts on
+// players under its own username prefix, and removes them afterwards
+@SpringBootTest(properties = {"player-export.page-size=2", "player-export.as-of-overlap-ms=30000"})
+@ActiveProfiles("test")
+class PlayerExportServiceTest {
+
+    @Autowired
+    private PlayerExportService playerExportService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private String prefix;
+    private final List<UUID> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        prefix = "exp" + UUID.randomUUID().toString().substring(0, 8) + "_";
+    }
+
+    @AfterEach
+    void tearDown() {
+        playerRepository.deleteAllById(created);
+        created.clear();
+    }
+
+    private Player save(String name) {
+        Player player = new Player();
+        player.setUsername(prefix + name);
+        player.setEmail(prefix + name + "@email.com");
+        player.setFirstName("John");
+        player.setPassword("encodedPassword");
+        player.setRole(Role.PLAYER);
+        Player saved = playerRepository.save(player);
+        created.add(saved.getId());
+        return saved;
+    }
+
+    private List<OutgoingPlayerDTO> export(UUID after, Instant since, List<Integer> pageSizes) {
+        List<OutgoingPlayerDTO> exported = new ArrayList<>();
+        playerExportService.export(after, since, page -> {
+            pageSizes.add(page.size());
+            exported.addAll(page);
+        });
+        return exported;
+    }
+
+    private List<OutgoingPlayerDTO> ours(List<OutgoingPlayerDTO> exported) {
+        return exported.stream().filter(player -> player.getUsername().startsWith(prefix)).toList();
+    }
+
+    @Test
+    void testExport_streamsEveryPlayerOncePageByPage() {
+        Set<UUID> saved = List.of("1", "2", "3", "4", "5").stream()
+                .map(name -> save(name).getId())
+                .collect(Collectors.toSet());
+        List<Integer> pageSizes = new ArrayList<>();
+
+        List<OutgoingPlayerDTO> exported = export(null, null, pageSizes);
+
+        assertTrue(pageSizes.subList(0, pageSizes.size() - 1).stream().allMatch(size -> size == 2));
+        assertTrue(pageSizes.get(pageSizes.size() - 1) <= 2);
+        assertEquals(exported.size(), pageSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(exported.size(), new HashSet<>(exported.stream().map(OutgoingPlayerDTO::getId).toList()).size());
+        assertEquals(saved, ours(exported).stream().map(OutgoingPlayerDTO::getId).collect(Collectors.toSet()));
+        assertEquals("PLAYER", ours(exported).get(0).getRole());
+    }
+
+    @Test
+    void testExport_resumesAfterCursor() {
+        for (int i = 1; i <= 5; i++) {
+            save(String.valueOf(i));
+        }
+        List<OutgoingPlayerDTO> full = export(null, null, new ArrayList<>());
+        UUID cursor = ours(full).get(1).getId();
+        int cursorIndex = full.stream().map(OutgoingPlayerDTO::getId).toList().indexOf(cursor);
+
+        List<OutgoingPlayerDTO> resumed = export(cursor, null, new ArrayList<>());
+
+        assertEquals(full.subList(cursorIndex + 1, full.size()).stream().map(OutgoingPlayerDTO::getId).toList(),
+                resumed.stream().map(OutgoingPlayerDTO::getId).toList());
+        assertEquals(3, ours(resumed).size());
+    }
+
+    @Test
+    void testExport_onlyReturnsPlayersUpdatedSince() throws InterruptedException {
+        save("before1");
+        save("before2");
+        Thread.sleep(10);
+        Instant since = Instant.now();
+        Thread.sleep(10);
+        save("after1");
+
+        List<OutgoingPlayerDTO> exported = export(null, since, new ArrayList<>());
+
+        assertEquals(List.of(prefix + "after1"), ours(exported).stream().map(OutgoingPlayerDTO::getUsername).toList());
+    }
+
+    @Test
+    void testAsOf_reachesBackByTheOverlap() {
+        Instant before = Instant.now();
+
+        Instant asOf = playerExportService.asOf();
+
+        assertFalse(asOf.isBefore(before.minus(Duration.ofSeconds(30))));
+        assertFalse(asOf.isAfter(Instant.now().minus(Duration.ofSeconds(30))));
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.AccountEventDTO;
+import com.dzieger.dtos.PlayerImportResultDTO;
+import com.dzieger.exceptions.HashingCapacityExceededException;
+import com.dzieger.repositories.PlayerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class PlayerImportServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private RegisteredUsernames registeredUsernames;
+
+    @Mock
+    private AccountEventPublisher accountEventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PlayerImportService playerImportService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        playerImportService = new PlayerImportService(playerRepository, registeredUsernames, accountEventPublisher, jdbcTemplate, transactionManager,
+                passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), params, meterRegistry);
+        lenient().when(playerRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        lenient().when(playerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        playerImportService.shutdown();
+    }
+
+    private static String row(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"Valid@123\",\"firstName\":\"john\"}";
+    }
+
+    private List<PlayerImportResultDTO> importLines(String... lines) throws Exception {
+        List<PlayerImportResultDTO> results = new ArrayList<>();
+        playerImportService.importPlayers(new BufferedReader(new StringReader(String.join("\n", lines))), results::addAll);
+        return results;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImport_insertsValidRowsWithOneBatchPerTable() throws Exception {
+        List<PlayerImportResultDTO> results = importLines(row("Alice", "alice@test.com"), row("bob", "bob@test.com"));
+
+        assertEquals(List.of("CREATED", "CREATED"), results.stream().map(PlayerImportResultDTO::getStatus).toList());
+        assertEquals("alice", results.get(0).getUsername());
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into players"), any(Collection.class), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into outbox_events"), any(Collection.class), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        verify(playerRepository, times(1)).findExistingUsernames(anyCollection());
+        verify(registeredUsernames).add("alice");
+        verify(registeredUsernames).add("bob");
+        verify(accountEventPublisher).publish(eq(AccountEventDTO.REGISTERED), any(UUID.class), eq("alice"), eq("PLAYER"));
+        verify(accountEventPublisher).publish(eq(AccountEventDTO.REGISTERED), any(UUID.class), eq("bob"), eq("PLAYER"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImport_reportsInvalidAndDuplicateRowsByLine() throws Exception {
+        when(playerRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+        when(playerRepository.findExistingEmails(anyCollection())).thenReturn(List.of("used@test.com"));
+
+        List<PlayerImportResultDTO> results = importLines(
+                row("alice", "alice@test.com"),
+                "not json",
+                row("ALICE", "other@test.com"),
+                "",
+                row("taken", "taken@test.com"),
+                row("carol", "used@test.com"),
+                "{\"username\":\"x\"}");
+
+        assertEquals(6, results.size());
+        assertEquals(List.of(1, 2, 3, 5, 6, 7), results.stream().map(PlayerImportResultDTO::getLine).toList());
+        assertEquals(List.of("CREATED", "INVALID", "DUPLICATE_USERNAME", "DUPLICATE_USERNAME", "DUPLICATE_EMAIL", "INVALID"),
+                results.stream().map(PlayerImportResultDTO::getStatus).toList());
+        assertTrue(results.get(5).getErrors().containsKey("email"));
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into players"), any(Collection.class), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2.0, meterRegistry.get("players.import.rows").tag("status", "INVALID").counter().count());
+    }
+
+    @Test
+    void testImport_marksRowsForRetry_whenHashingCapacityIsExhausted() throws Exception {
+        when(passwordEncoder.encode(anyString())).thenThrow(new HashingCapacityExceededException("busy", 1));
+
+        List<PlayerImportResultDTO> results = importLines(row("alice", "alice@test.com"));
+
+        assertEquals("RETRY", results.get(0).getStatus());
+        verifyNoInteractions(jdbcTemplate, accountEventPublisher);
+    }
+
+    @Test
+    void testImport_capsConcurrentHashesAtTheImportHashingConcurrency() throws Exception {
+        playerImportService.shutdown();
+        when(params.getPlayerImportHashingConcurrency()).thenReturn(2);
+        playerImportService = new PlayerImportService(playerRepository, registeredUsernames, accountEventPublisher, jdbcTemplate, transactionManager,
+                passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), params, meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            threadNames.add(Thread.currentThread().getName());
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return "hashed";
+        });
+
+        List<PlayerImportResultDTO> results = importLines(row("a1a", "a1@test.com"), row("a2a", "a2@test.com"),
+                row("a3a", "a3@test.com"), row("a4a", "a4@test.com"), row("a5a", "a5@test.com"), row("a6a", "a6@test.com"));
+
+        assertEquals(6, results.stream().filter(result -> "CREATED".equals(result.getStatus())).count());
+        assertEquals(2, maxInFlight.get());
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("player-import-hash-")));
+    }
+
+    @Test
+    void testImport_flushesResultsPerBatch() throws Exception {
+        when(params.getPlayerImportBatchSize()).thenReturn(2);
+        List<Integer> batchSizes = new ArrayList<>();
+
+        playerImportService.importPlayers(new BufferedReader(new StringReader(String.join("\n",
+                row("a1a", "a1@test.com"), row("a2a", "a2@test.com"), row("a3a", "a3@test.com")))), batch -> batchSizes.add(batch.size()));
+
+        assertEquals(List.of(2, 1), batchSizes);
+        verify(playerRepository, times(2)).findExistingUsernames(anyCollection());
+    }
+
+}
@@ -1,31 +1,43 @@
 package com.dzieger.services;
 
 import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.dtos.AccountEventDTO;
 import com.dzieger.dtos.LoginDTO;
 import com.dzieger.dtos.OutgoingAuthenticatedPlayerDTO;
 import com.dzieger.dtos.OutgoingPlayerDTO;
 import com.dzieger.dtos.RegisterDTO;
 import com.dzieger.exceptions.DuplicateEmailException;
 import com.dzieger.exceptions.DuplicateUsernameException;
+import com.dzieger.models.OutboxEvent;
 import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
 import com.dzieger.models.enums.Role;
+import com.dzieger.repositories.OutboxEventRepository;
 import com.dzieger.repositories.PlayerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -40,9 +52,33 @@ public class PlayerServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private PlayerDetailsCache playerDetailsCache;
+
+    @Mock
+    private RegisteredUsernames registeredUsernames;
+
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private AccountEventPublisher accountEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -60,6 +96,18 @@ public class PlayerServiceTest {
     @BeforeEach
     void setUp() {
         validator = validatorFactory.getValidator();
+
+        lenient().when(registeredUsernames.mightExist(anyString())).thenReturn(true);
+        lenient().when(playerRepository.saveAndFlush(any(Player.class))).thenAnswer(invocation -> {
+            Player player = invocation.getArgument(0);
+            player.setId(UUID.randomUUID());
+            return player;
+        });
+    }
+
+    private static DataIntegrityViolationException duplicateKey(String constraintName) {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
     }
 
     @Test
@@ -70,9 +118,6 @@ public class PlayerServiceTest {
         registerDTO.setEmail("jdoe@test.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("jdoe@test.com")).thenReturn(Optional.empty());
-
         OutgoingPlayerDTO result = playerService.register(registerDTO);
 
         assertNotNull(result);
@@ -89,8 +134,6 @@ public class PlayerServiceTest {
         registerDTO.setEmail("jdoe@test.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("jdoe@test.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode(registerDTO.getPassword())).thenReturn("encodedPassword");
 
         playerService.register(registerDTO);
@@ -107,11 +150,8 @@ public class PlayerServiceTest {
         registerDTO.setEmail("test@email.com");
         registerDTO.setPassword("password");
 
-        Player existingPlayer = new Player();
-        existingPlayer.setUsername("jdoe2");
-
         // Mock the repository behavior
-        when(playerRepository.findByUsername("jdoe2")).thenReturn(Optional.of(existingPlayer));
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(duplicateKey("uk_players_username"));
 
         // Act & Assert
         DuplicateUsernameException exception = assertThrows(
@@ -120,7 +160,7 @@ public class PlayerServiceTest {
         );
 
         assertEquals("Username already exists", exception.getMessage());
-        verify(playerRepository, times(1)).findByUsername("jdoe2");
+        verify(playerRepository, never()).findByUsername(any());
     }
 
     @Test
@@ -132,10 +172,7 @@ public class PlayerServiceTest {
         registerDTO.setEmail("email@test.com");
         registerDTO.setPassword("password");
 
-        Player existingPlayer = new Player();
-        existingPlayer.setEmail("email@test.com");
-
-        when(playerRepository.findByEmail("email@test.com")).thenReturn(Optional.of(existingPlayer));
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(duplicateKey("uk_players_email"));
 
         DuplicateEmailException exception = assertThrows(
                 DuplicateEmailException.class,
@@ -143,7 +180,24 @@ public class PlayerServiceTest {
         );
 
         assertEquals("Email already exists", exception.getMessage());
-        verify(playerRepository, times(1)).findByEmail("email@test.com");
+        verify(playerRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void testRegister_matchesColumnInMessage_whenConstraintNameIsGenerated() {
+        RegisterDTO registerDTO = new RegisterDTO();
+        registerDTO.setFirstName("Jane");
+        registerDTO.setUsername("test");
+        registerDTO.setEmail("email@test.com");
+        registerDTO.setPassword("password");
+
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key",
+                        new SQLException("duplicate key value violates unique constraint \"uk6x2ltnb5ha4kf9u8gyhnbc9x8\"\n"
+                                + "  Detail: Key (email)=(email@test.com) already exists."),
+                        "uk6x2ltnb5ha4kf9u8gyhnbc9x8")));
+
+        assertThrows(DuplicateEmailException.class, () -> playerService.register(registerDTO));
     }
 
     @Test
@@ -154,9 +208,6 @@ public class PlayerServiceTest {
         registerDTO.setEmail("test@email.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("test@email.com")).thenReturn(Optional.empty());
-
         OutgoingPlayerDTO result = playerService.register(registerDTO);
 
         assertEquals(Role.PLAYER.toString(), result.getRole());
@@ -170,9 +221,7 @@ public class PlayerServiceTest {
         registerDTO.setEmail("test@email.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("test@email.com")).thenReturn(Optional.empty());
-        when(playerRepository.save(any(Player.class))).thenThrow(new RuntimeException("Failed to save player"));
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(new RuntimeException("Failed to save player"));
 
         RuntimeException excetpion = assertThrows(
                 RuntimeException.class,
@@ -190,16 +239,11 @@ public class PlayerServiceTest {
         registerDTO.setEmail("test@email.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("test@email.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
 
-        Player savedPlayer = new Player();
-        when(playerRepository.save(any(Player.class))).thenReturn(savedPlayer);
-
         playerService.register(registerDTO);
 
-        verify(playerRepository, times(1)).save(argThat(player -> player.getPassword().equals("encodedPassword")));
+        verify(playerRepository, times(1)).saveAndFlush(argThat(player -> player.getPassword().equals("encodedPassword")));
     }
 
     @Test
@@ -210,12 +254,9 @@ public class PlayerServiceTest {
         registerDTO.setEmail("TestCase@EmaiL.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("testcase@email.com")).thenReturn(Optional.empty());
-
         playerService.register(registerDTO);
 
-        verify(playerRepository, times(1)).save(argThat(player -> player.getEmail().equals("testcase@email.com")));
+        verify(playerRepository, times(1)).saveAndFlush(argThat(player -> player.getEmail().equals("testcase@email.com")));
     }
 
     @Test
@@ -226,12 +267,44 @@ public class PlayerServiceTest {
         registerDTO.setEmail("test@email.com");
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail("test@email.com")).thenReturn(Optional.empty());
+        playerService.register(registerDTO);
+
+        verify(playerRepository, times(1)).saveAndFlush(argThat(player -> player.getUsername().equals("testuser")));
+    }
+
+    @Test
+    void testRegister_recordsPlayerRegisteredOutboxEvent_insteadOfCallingPlayerService() throws Exception {
+        RegisterDTO registerDTO = new RegisterDTO();
+        registerDTO.setFirstName("John");
+        registerDTO.setUsername("jdoe");
+        registerDTO.setEmail("test@email.com");
+        registerDTO.setPassword("password");
 
         playerService.register(registerDTO);
 
-        verify(playerRepository, times(1)).save(argThat(player -> player.getUsername().equals("testuser")));
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertEquals(OutboxEvent.PLAYER_REGISTERED, event.getEventType());
+        assertNotNull(event.getAggregateId());
+        assertEquals("jdoe", objectMapper.readTree(event.getPayload()).get("username").asText());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testRegister_doesNotRecordOutboxEvent_whenUsernameAlreadyExists() {
+        RegisterDTO registerDTO = new RegisterDTO();
+        registerDTO.setFirstName("John");
+        registerDTO.setUsername("jdoe");
+        registerDTO.setEmail("test@email.com");
+        registerDTO.setPassword("password");
+
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(duplicateKey("uk_players_username"));
+
+        assertThrows(DuplicateUsernameException.class, () -> playerService.register(registerDTO));
+
+        verify(outboxEventRepository, never()).save(any());
+        verify(transactionManager, times(1)).rollback(any());
     }
 
     @Test
@@ -245,9 +318,6 @@ public class PlayerServiceTest {
         registerDTO.setEmail(longEmail);
         registerDTO.setPassword("password");
 
-        when(playerRepository.findByUsername(longUsername)).thenReturn(Optional.empty());
-        when(playerRepository.findByEmail(longEmail)).thenReturn(Optional.empty());
-
         assertDoesNotThrow(() -> playerService.register(registerDTO));
     }
 
@@ -267,9 +337,10 @@ public class PlayerServiceTest {
         player.setFirstName("John");
         player.setRole(Role.PLAYER);
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.of(player));
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.of(PlayerDetails.from(player)));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
-        when(jwtUtil.generateToken(player, List.of(Role.PLAYER.toString(), player.getUsername()))).thenReturn("mockedJwtToken");
+        when(jwtUtil.generateToken(player.getId(), player.getUsername(), List.of(Role.PLAYER.toString(), player.getUsername()))).thenReturn("mockedJwtToken");
+        when(refreshTokenService.issue(player.getId(), "jdoe")).thenReturn("mockedRefreshToken");
 
         // Act
         OutgoingAuthenticatedPlayerDTO result = playerService.login(loginDTO);
@@ -278,25 +349,82 @@ public class PlayerServiceTest {
         assertNotNull(result);
         assertEquals("jdoe", result.getUsername());
         assertEquals("mockedJwtToken", result.getToken());
+        assertEquals("mockedRefreshToken", result.getRefreshToken());
         assertEquals("John", result.getFirstName());
         assertEquals(Role.PLAYER.toString(), result.getRole());
     }
 
+    @Test
+    void testLogin_rehashesPassword_whenStoredCostDiffersFromTarget() {
+        LoginDTO loginDTO = new LoginDTO();
+        loginDTO.setUsername("jdoe");
+        loginDTO.setPassword("password");
+
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("oldEncodedPassword");
+        player.setFirstName("John");
+        player.setRole(Role.PLAYER);
+
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.of(PlayerDetails.from(player)));
+        when(passwordEncoder.matches("password", "oldEncodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldEncodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("newEncodedPassword");
+
+        playerService.login(loginDTO);
+
+        verify(playerRepository, times(1)).updatePassword(eq(player.getId()), eq("newEncodedPassword"), any(Instant.class));
+        verify(playerDetailsCache, times(1)).invalidate("jdoe");
+    }
 
     @Test
-    void testLogin_throwsUsernameNotFoundException_whenPlayerNotFound() {
+    void testLogin_throwsSameBadCredentialsException_whenPlayerNotFound() {
         LoginDTO loginDTO = new LoginDTO();
         loginDTO.setUsername("jdoe");
         loginDTO.setPassword("password");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.empty());
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.empty());
 
-        UsernameNotFoundException exception = assertThrows(
-                UsernameNotFoundException.class,
+        BadCredentialsException exception = assertThrows(
+                BadCredentialsException.class,
                 () -> playerService.login(loginDTO)
         );
 
-        assertEquals("Player not found", exception.getMessage());
+        assertEquals("Invalid username or password", exception.getMessage());
+    }
+
+    @Test
+    void testLogin_skipsLookupButStillHashes_whenUsernameWasNeverRegistered() {
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
+        playerService.init();
+
+        LoginDTO loginDTO = new LoginDTO();
+        loginDTO.setUsername("Nobody");
+        loginDTO.setPassword("password");
+
+        when(registeredUsernames.mightExist("nobody")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> playerService.login(loginDTO));
+
+        verifyNoInteractions(playerDetailsCache, playerRepository);
+        verify(passwordEncoder, times(1)).matches("password", "dummyHash");
+    }
+
+    @Test
+    void testLogin_checksDummyHash_whenFilterMatchesButPlayerDoesNotExist() {
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
+        playerService.init();
+
+        LoginDTO loginDTO = new LoginDTO();
+        loginDTO.setUsername("jdoe");
+        loginDTO.setPassword("password");
+
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> playerService.login(loginDTO));
+
+        verify(passwordEncoder, times(1)).matches("password", "dummyHash");
     }
 
     @Test
@@ -309,7 +437,7 @@ public class PlayerServiceTest {
         player.setUsername("jdoe");
         player.setPassword("encodedPassword");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.of(player));
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.of(PlayerDetails.from(player)));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(false);
 
         BadCredentialsException exception = assertThrows(
@@ -330,7 +458,7 @@ public class PlayerServiceTest {
         player.setUsername("jdoe");
         player.setPassword("encodedPassword");
 
-        when(playerRepository.findByUsername("jdoe")).thenReturn(Optional.of(player));
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.of(PlayerDetails.from(player)));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
 
         OutgoingAuthenticatedPlayerDTO result = playerService.login(loginDTO);
@@ -339,4 +467,223 @@ public class PlayerServiceTest {
         assertEquals("jdoe", result.getUsername());
     }
 
+    // Refresh Tests
+
+    @Test
+    void testRefresh_returnsNewTokens_withoutCheckingPassword() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("encodedPassword");
+        player.setFirstName("John");
+        player.setRole(Role.PLAYER);
+
+        when(refreshTokenService.rotate("oldRefreshToken"))
+                .thenReturn(new RefreshTokenService.Rotation(PlayerDetails.from(player), "newRefreshToken"));
+        when(jwtUtil.generateToken(player.getId(), "jdoe", List.of(Role.PLAYER.toString(), "jdoe"))).thenReturn("mockedJwtToken");
+
+        OutgoingAuthenticatedPlayerDTO result = playerService.refresh("oldRefreshToken");
+
+        assertEquals("mockedJwtToken", result.getToken());
+        assertEquals("newRefreshToken", result.getRefreshToken());
+        assertEquals("John", result.getFirstName());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    // Logout Tests
+
+    @Test
+    void testLogout_revokesAccessTokenAndRefreshTokenFamily() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        playerService.logout("jti", expiresAt, "refreshToken");
+
+        verify(tokenRevocationService).revoke("jti", expiresAt);
+        verify(refreshTokenService).revoke("refreshToken");
+    }
+
+    @Test
+    void testLogout_withoutRefreshToken_onlyRevokesAccessToken() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        playerService.logout("jti", expiresAt, null);
+
+        verify(tokenRevocationService).revoke("jti", expiresAt);
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    // Account event tests
+
+    @Test
+    void testRegister_publishesRegisteredAccountEvent() {
+        RegisterDTO registerDTO = new RegisterDTO();
+        registerDTO.setFirstName("John");
+        registerDTO.setUsername("jdoe");
+        registerDTO.setEmail("test@email.com");
+        registerDTO.setPassword("password");
+
+        playerService.register(registerDTO);
+
+        verify(accountEventPublisher, times(1)).publish(eq(AccountEventDTO.REGISTERED), any(UUID.class), eq("jdoe"), eq(Role.PLAYER.toString()));
+    }
+
+    @Test
+    void testRegister_doesNotPublishAccountEvent_whenUsernameAlreadyExists() {
+        RegisterDTO registerDTO = new RegisterDTO();
+        registerDTO.setFirstName("John");
+        registerDTO.setUsername("jdoe");
+        registerDTO.setEmail("test@email.com");
+        registerDTO.setPassword("password");
+
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(duplicateKey("uk_players_username"));
+
+        assertThrows(DuplicateUsernameException.class, () -> playerService.register(registerDTO));
+
+        verifyNoInteractions(accountEventPublisher);
+    }
+
+    @Test
+    void testLogin_publishesLoggedInAccountEvent_onlyWhenPasswordMatches() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("encodedPassword");
+        player.setFirstName("John");
+        player.setRole(Role.PLAYER);
+
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.of(PlayerDetails.from(player)));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.matches("wrong", "encodedPassword")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> playerService.login(new LoginDTO("jdoe", "wrong")));
+        verifyNoInteractions(accountEventPublisher);
+
+        playerService.login(new LoginDTO("jdoe", "password"));
+        verify(accountEventPublisher, times(1)).publish(AccountEventDTO.LOGGED_IN, player.getId(), "jdoe", Role.PLAYER.toString());
+    }
+
+    @Test
+    void testChangePassword_storesNewHashAndPublishesAccountEvent() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("encodedPassword");
+        player.setRole(Role.PLAYER);
+
+        when(playerRepository.findById(player.getId())).thenReturn(Optional.of(player));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
+
+        playerService.changePassword(player.getId(), "jti", Instant.now().plusSeconds(600), "password", "newPassword");
+
+        verify(playerRepository, times(1)).updatePassword(eq(player.getId()), eq("newEncodedPassword"), any(Instant.class));
+        verify(playerDetailsCache, times(1)).invalidate("jdoe");
+        verify(accountEventPublisher, times(1)).publish(AccountEventDTO.PASSWORD_CHANGED, player.getId(), "jdoe", Role.PLAYER.toString());
+    }
+
+    @Test
+    void testChangePassword_revokesEverySessionOfThePlayer() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("encodedPassword");
+        player.setRole(Role.PLAYER);
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        when(playerRepository.findById(player.getId())).thenReturn(Optional.of(player));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
+
+        playerService.changePassword(player.getId(), "jti", expiresAt, "password", "newPassword");
+
+        verify(refreshTokenService, times(1)).revokeAllFor(player.getId());
+        verify(tokenRevocationService, times(1)).revoke("jti", expiresAt);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testChangePassword_rollsBackPasswordChange_whenRevocationFails() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("encodedPassword");
+        player.setRole(Role.PLAYER);
+
+        when(playerRepository.findById(player.getId())).thenReturn(Optional.of(player));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
+        doThrow(new IllegalStateException("database unavailable")).when(refreshTokenService).revokeAllFor(player.getId());
+
+        assertThrows(IllegalStateException.class,
+                () -> playerService.changePassword(player.getId(), "jti", Instant.now().plusSeconds(600), "password", "newPassword"));
+
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verifyNoInteractions(playerDetailsCache, accountEventPublisher);
+    }
+
+    @Test
+    void testChangePassword_throwsBadCredentialsException_whenCurrentPasswordIsWrong() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setPassword("encodedPassword");
+        player.setRole(Role.PLAYER);
+
+        when(playerRepository.findById(player.getId())).thenReturn(Optional.of(player));
+        when(passwordEncoder.matches("wrong", "encodedPassword")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class,
+                () -> playerService.changePassword(player.getId(), "jti", Instant.now().plusSeconds(600), "wrong", "newPassword"));
+
+        verify(playerRepository, never()).updatePassword(any(), any(), any());
+        verifyNoInteractions(refreshTokenService, tokenRevocationService);
+        verifyNoInteractions(accountEventPublisher);
+    }
+
+    @Test
+    void testChangeRole_savesRoleAndPublishesAccountEvent() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setFirstName("John");
+        player.setRole(Role.PLAYER);
+
+        when(playerRepository.findById(player.getId())).thenReturn(Optional.of(player));
+
+        OutgoingPlayerDTO result = playerService.changeRole(player.getId(), Role.ADMIN);
+
+        assertEquals(Role.ADMIN.toString(), result.getRole());
+        verify(playerRepository, times(1)).save(argThat(saved -> saved.getRole().equals(Role.ADMIN.toString())));
+        verify(playerDetailsCache, times(1)).invalidate("jdoe");
+        verify(accountEventPublisher, times(1)).publish(AccountEventDTO.ROLE_CHANGED, player.getId(), "jdoe", Role.ADMIN.toString());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void testChangeRole_revokesRefreshTokens_whenAdminRoleIsRemoved() {
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setUsername("jdoe");
+        player.setFirstName("John");
+        player.setRole(Role.ADMIN);
+
+        when(playerRepository.findById(player.getId())).thenReturn(Optional.of(player));
+
+        OutgoingPlayerDTO result = playerService.changeRole(player.getId(), Role.PLAYER);
+
+        assertEquals(Role.PLAYER.toString(), result.getRole());
+        verify(refreshTokenService, times(1)).revokeAllFor(player.getId());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testChangeRole_throwsUsernameNotFoundException_whenPlayerDoesNotExist() {
+        UUID playerId = UUID.randomUUID();
+        when(playerRepository.findById(playerId)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> playerService.changeRole(playerId, Role.ADMIN));
+
+        verifyNoInteractions(accountEventPublisher);
+    }
 }
@@ -0,0 +1,144 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.Player;
+import com.dzieger.models.PlayerDetails;
+import com.dzieger.models.RefreshToken;
+import com.dzieger.models.enums.Role;
+import com.dzieger.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private PlayerDetailsCache playerDetailsCache;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenService refreshTokenService;
+    private PlayerDetails player;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(params.getRefreshTokenTtlSeconds()).thenReturn(3600L);
+        meterRegistry = new SimpleMeterRegistry();
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, playerDetailsCache, params, meterRegistry);
+
+        Player mockPlayer = new Player();
+        mockPlayer.setId(UUID.randomUUID());
+        mockPlayer.setUsername("jdoe");
+        mockPlayer.setFirstName("John");
+        mockPlayer.setRole(Role.PLAYER);
+        player = PlayerDetails.from(mockPlayer);
+    }
+
+    private RefreshToken stored(String rawToken, UUID familyId, Instant expiresAt) {
+        return new RefreshToken(RefreshTokenService.hash(rawToken), familyId, player.getId(), player.getUsername(), Instant.now(), expiresAt);
+    }
+
+    @Test
+    void testIssue_storesOnlyTheHashOfTheToken() {
+        String rawToken = refreshTokenService.issue(player.getId(), "jdoe");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(rawToken, captor.getValue().getTokenHash());
+        assertEquals(RefreshTokenService.hash(rawToken), captor.getValue().getTokenHash());
+        assertEquals(64, captor.getValue().getTokenHash().length());
+    }
+
+    @Test
+    void testRotate_marksTokenUsed_andIssuesSuccessorInSameFamily() {
+        UUID familyId = UUID.randomUUID();
+        RefreshToken current = stored("current", familyId, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("current"))).thenReturn(Optional.of(current));
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.of(player));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("current");
+
+        assertNotNull(current.getUsedAt());
+        assertEquals(player, rotation.player());
+        assertNotEquals("current", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(familyId, captor.getValue().getFamilyId());
+        assertEquals(RefreshTokenService.hash(rotation.refreshToken()), captor.getValue().getTokenHash());
+    }
+
+    @Test
+    void testRotate_revokesFamily_whenUsedTokenIsPresentedAgain() {
+        UUID familyId = UUID.randomUUID();
+        RefreshToken reused = stored("reused", familyId, Instant.now().plusSeconds(60));
+        reused.setUsedAt(Instant.now().minusSeconds(5));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("reused"))).thenReturn(Optional.of(reused));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("reused"));
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get("auth.refresh.reuse").counter().count());
+    }
+
+    @Test
+    void testRotate_rejectsExpiredToken() {
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("expired")))
+                .thenReturn(Optional.of(stored("expired", UUID.randomUUID(), Instant.now().minusSeconds(1))));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("expired"));
+
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void testRotate_rejectsUnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        BadCredentialsException exception = assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("unknown"));
+
+        assertEquals("Invalid refresh token", exception.getMessage());
+    }
+
+    @Test
+    void testRotate_revokesFamily_whenPlayerNoLongerExists() {
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("orphan")))
+                .thenReturn(Optional.of(stored("orphan", familyId, Instant.now().plusSeconds(60))));
+        when(playerDetailsCache.get("jdoe")).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("orphan"));
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(Instant.class));
+    }
+
+    @Test
+    void testRevokeAllFor_revokesEveryTokenOfThePlayer() {
+        UUID playerId = UUID.randomUUID();
+
+        refreshTokenService.revokeAllFor(playerId);
+
+        verify(refreshTokenRepository).revokePlayer(eq(playerId), any(Instant.class));
+    }
+
+}
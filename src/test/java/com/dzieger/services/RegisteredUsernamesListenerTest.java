@@ -0,0 +1,41 @@
+package com.dzieger.services;
+
+import com.dzieger.models.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class RegisteredUsernamesListenerTest {
+
+    @Mock
+    private ObjectProvider<RegisteredUsernames> provider;
+
+    @Mock
+    private RegisteredUsernames registeredUsernames;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPlayerPersisted_addsUsernameToFilter() {
+        doAnswer(invocation -> {
+            ((Consumer<RegisteredUsernames>) invocation.getArgument(0)).accept(registeredUsernames);
+            return null;
+        }).when(provider).ifAvailable(any());
+        Player player = new Player();
+        player.setUsername("jdoe");
+
+        new RegisteredUsernamesListener(provider).playerPersisted(player);
+
+        verify(registeredUsernames).add("jdoe");
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.repositories.PlayerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class RegisteredUsernamesTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegisteredUsernames registeredUsernames;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(params.isUsernameFilterEnabled()).thenReturn(true);
+        lenient().when(params.getUsernameFilterPollOverlapMs()).thenReturn(30_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        registeredUsernames = new RegisteredUsernames(playerRepository, params, meterRegistry);
+    }
+
+    @Test
+    void testInit_loadsEveryUsername_andAnswersAbsentWithoutTheDatabase() {
+        when(playerRepository.count()).thenReturn(2L);
+        when(playerRepository.findUsernamesAfter(eq(""), any(Pageable.class))).thenReturn(List.of("alice", "bob"));
+
+        registeredUsernames.init();
+
+        assertTrue(registeredUsernames.mightExist("alice"));
+        assertTrue(registeredUsernames.mightExist("bob"));
+        assertFalse(registeredUsernames.mightExist("mallory"));
+        assertEquals(1.0, meterRegistry.get("auth.usernames.filter.skipped-lookups").counter().count());
+        assertEquals(2.0, meterRegistry.get("auth.usernames.filter.entries").gauge().value());
+    }
+
+    @Test
+    void testAdd_makesNewRegistrationVisibleImmediately() {
+        when(playerRepository.findUsernamesAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+        registeredUsernames.init();
+
+        registeredUsernames.add("carol");
+
+        assertTrue(registeredUsernames.mightExist("carol"));
+    }
+
+    @Test
+    void testPoll_picksUpPlayersCreatedOnOtherNodes() {
+        when(playerRepository.findUsernamesAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+        registeredUsernames.init();
+        when(playerRepository.findUsernamesCreatedSince(any(Instant.class))).thenReturn(List.of("dave"));
+
+        registeredUsernames.poll();
+
+        assertTrue(registeredUsernames.mightExist("dave"));
+    }
+
+    @Test
+    void testMightExist_isAlwaysTrue_untilTheFirstLoadSucceeds() {
+        when(playerRepository.count()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        registeredUsernames.init();
+
+        assertTrue(registeredUsernames.mightExist("anyone"));
+    }
+
+    @Test
+    void testMightExist_isAlwaysTrue_whenDisabled() {
+        when(params.isUsernameFilterEnabled()).thenReturn(false);
+
+        registeredUsernames.init();
+        registeredUsernames.poll();
+
+        assertTrue(registeredUsernames.mightExist("anyone"));
+        verifyNoInteractions(playerRepository);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.dzieger.services;
+
+import com.dzieger.SecurityConfig.JwtUtil;
+import com.dzieger.SecurityConfig.ValidatedToken;
+import com.dzieger.config.Parameters;
+import com.dzieger.dtos.IntrospectionResponseDTO;
+import com.dzieger.exceptions.jwt.JwtExpiredException;
+import com.dzieger.exceptions.jwt.JwtValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class TokenIntrospectionServiceTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenIntrospectionService tokenIntrospectionService;
+    private ValidatedToken validatedToken;
+
+    @BeforeEach
+    void setUp() {
+        when(params.getIntrospectionCacheMaximumSize()).thenReturn(100L);
+        when(params.getIntrospectionCacheTtlSeconds()).thenReturn(60L);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenIntrospectionService = new TokenIntrospectionService(jwtUtil, tokenRevocationService, params, meterRegistry);
+
+        validatedToken = new ValidatedToken("jti", UUID.randomUUID(), "test", "issuer", List.of("PLAYER", "test"),
+                new Date(System.currentTimeMillis() + 600_000));
+    }
+
+    @Test
+    void testIntrospect_activeToken_returnsClaims() {
+        when(jwtUtil.parseAndValidate("token")).thenReturn(validatedToken);
+
+        IntrospectionResponseDTO result = tokenIntrospectionService.introspect("token");
+
+        assertTrue(result.isActive());
+        assertEquals(validatedToken.getSubject().toString(), result.getSub());
+        assertEquals("test", result.getUsername());
+        assertEquals("jti", result.getJti());
+        assertEquals(validatedToken.getExpiration().toInstant().getEpochSecond(), result.getExp());
+        assertEquals(List.of("PLAYER", "test"), result.getAuthorities());
+    }
+
+    @Test
+    void testIntrospect_parsesEachTokenOnce() {
+        when(jwtUtil.parseAndValidate("token")).thenReturn(validatedToken);
+
+        tokenIntrospectionService.introspect("token");
+        tokenIntrospectionService.introspect("token");
+        tokenIntrospectionService.introspect("token");
+
+        verify(jwtUtil, times(1)).parseAndValidate("token");
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "introspection").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testIntrospect_invalidToken_isInactiveAndCached() {
+        when(jwtUtil.parseAndValidate("expired")).thenThrow(new JwtExpiredException("expired"));
+
+        assertFalse(tokenIntrospectionService.introspect("expired").isActive());
+        assertFalse(tokenIntrospectionService.introspect("expired").isActive());
+
+        verify(jwtUtil, times(1)).parseAndValidate("expired");
+    }
+
+    @Test
+    void testIntrospect_invalidResult_expiresAfterNegativeTtl() throws Exception {
+        when(params.getIntrospectionCacheNegativeTtlMs()).thenReturn(1L);
+        tokenIntrospectionService = new TokenIntrospectionService(jwtUtil, tokenRevocationService, params, new SimpleMeterRegistry());
+        // Unknown signing key until this node picks up the rotated keys
+        when(jwtUtil.parseAndValidate("token")).thenThrow(new JwtValidationException("Unknown JWT key id: next")).thenReturn(validatedToken);
+
+        assertFalse(tokenIntrospectionService.introspect("token").isActive());
+        Thread.sleep(20);
+
+        assertTrue(tokenIntrospectionService.introspect("token").isActive());
+        verify(jwtUtil, times(2)).parseAndValidate("token");
+    }
+
+    @Test
+    void testIntrospect_revokedAfterCaching_isInactive() {
+        when(jwtUtil.parseAndValidate("token")).thenReturn(validatedToken);
+        when(tokenRevocationService.isRevoked("jti")).thenReturn(false, true);
+
+        assertTrue(tokenIntrospectionService.introspect("token").isActive());
+        assertFalse(tokenIntrospectionService.introspect("token").isActive());
+    }
+
+    @Test
+    void testIntrospect_blankToken_isInactive() {
+        assertFalse(tokenIntrospectionService.introspect(" ").isActive());
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void testIntrospectAll_keepsRequestOrder() {
+        when(jwtUtil.parseAndValidate("good")).thenReturn(validatedToken);
+        when(jwtUtil.parseAndValidate("bad")).thenThrow(new JwtExpiredException("expired"));
+
+        List<IntrospectionResponseDTO> results = tokenIntrospectionService.introspectAll(List.of("bad", "good", "bad"));
+
+        assertEquals(List.of(false, true, false), results.stream().map(IntrospectionResponseDTO::isActive).toList());
+    }
+
+}
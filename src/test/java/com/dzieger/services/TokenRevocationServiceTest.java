@@ -0,0 +1,121 @@
+package com.dzieger.services;
+
+import com.dzieger.config.Parameters;
+import com.dzieger.models.RevokedToken;
+import com.dzieger.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private Parameters params;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(params.getTokenRevocationPollOverlapMs()).thenReturn(30_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, params, meterRegistry);
+    }
+
+    @Test
+    void testRevoke_persistsAndTakesEffectImmediately() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        tokenRevocationService.revoke("jti-1", expiresAt);
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(tokenRevocationService.isRevoked("jti-2"));
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertEquals("jti-1", captor.getValue().getTokenId());
+        assertEquals(expiresAt, captor.getValue().getExpiresAt());
+        assertEquals(1.0, meterRegistry.get("auth.tokens.revoked").counter().count());
+    }
+
+    @Test
+    void testRevoke_ignoresTokensWithoutIdOrAlreadyExpired() {
+        tokenRevocationService.revoke(null, Instant.now().plusSeconds(600));
+        tokenRevocationService.revoke("expired", Instant.now().minusSeconds(1));
+
+        assertFalse(tokenRevocationService.isRevoked(null));
+        assertFalse(tokenRevocationService.isRevoked("expired"));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void testInit_loadsUnexpiredRevocations_thenPollsIncrementally() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken("loaded", Instant.now(), Instant.now().plusSeconds(600))));
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken("remote", Instant.now(), Instant.now().plusSeconds(600))));
+
+        tokenRevocationService.init();
+        assertTrue(tokenRevocationService.isRevoked("loaded"));
+        assertFalse(tokenRevocationService.isRevoked("remote"));
+
+        tokenRevocationService.poll();
+        assertTrue(tokenRevocationService.isRevoked("remote"));
+        verify(revokedTokenRepository, times(1)).findByExpiresAtAfter(any(Instant.class));
+    }
+
+    @Test
+    void testInit_toleratesUnavailableStore_andLoadsOnNextPoll() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(new RevokedToken("loaded", Instant.now(), Instant.now().plusSeconds(600))));
+
+        tokenRevocationService.init();
+        assertFalse(tokenRevocationService.isRevoked("loaded"));
+
+        tokenRevocationService.poll();
+        assertTrue(tokenRevocationService.isRevoked("loaded"));
+    }
+
+    @Test
+    void testPoll_dropsEntriesOnceTheirTokenHasExpired() throws InterruptedException {
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of());
+        tokenRevocationService.init();
+        tokenRevocationService.revoke("short-lived", Instant.now().plusMillis(50));
+        assertTrue(tokenRevocationService.isRevoked("short-lived"));
+
+        Thread.sleep(100);
+        tokenRevocationService.poll();
+
+        assertFalse(tokenRevocationService.isRevoked("short-lived"));
+        assertEquals(0.0, meterRegistry.get("auth.tokens.revocation.entries").gauge().value());
+    }
+
+    @Test
+    void testRevoke_growsFilterBeyondExpectedEntries() {
+        for (int i = 0; i < 3000; i++) {
+            tokenRevocationService.revoke("jti-" + i, Instant.now().plusSeconds(600));
+        }
+
+        for (int i = 0; i < 3000; i++) {
+            assertTrue(tokenRevocationService.isRevoked("jti-" + i));
+        }
+    }
+
+}